@@ -0,0 +1,32 @@
+package nickel.test.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the JMH benchmarks, publishing the results as JSON unless told otherwise. All JMH options are accepted.
+ */
+public final class BenchmarkMain {
+    static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.contains("-rf")) {
+            arguments.addAll(Arrays.asList("-rf", "json"));
+        }
+        if (!arguments.contains("-rff")) {
+            Files.createDirectories(Paths.get(DEFAULT_RESULT_FILE).getParent());
+            arguments.addAll(Arrays.asList("-rff", DEFAULT_RESULT_FILE));
+        }
+
+        Main.main(arguments.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,69 @@
+package nickel.test.benchmarks;
+
+import nickel.test.CacheMode;
+import nickel.test.jackson.JacksonTestResource;
+import nickel.test.jaxb.JaxbTestResource;
+import nickel.test.strategy.TestIdentity;
+import nickel.test.yaml.YamlTestResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.bind.JAXBException;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading resources through each object binding, with and without the fixture cache
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BindingBenchmark {
+    private static final TestIdentity TEST_IDENTITY =
+        new TestIdentity(BindingBenchmark.class, Optional.of("benchmark"));
+
+    @Param({"small", "medium", "large"})
+    public FixtureSize size;
+
+    @Param({"none", "copy"})
+    public CacheMode cache;
+
+    @Benchmark
+    public Catalog asJson() throws ClassNotFoundException, IOException {
+        return new JacksonTestResource(TEST_IDENTITY)
+            .resourcePath(size.resourcePath())
+            .resourceName("catalog")
+            .cached(cache)
+            .asJson(Catalog.class);
+    }
+
+    @Benchmark
+    public Catalog asXml() throws ClassNotFoundException, JAXBException, IOException {
+        return new JaxbTestResource(TEST_IDENTITY)
+            .resourcePath(size.resourcePath())
+            .resourceName("catalog")
+            .cached(cache)
+            .asXml(Catalog.class);
+    }
+
+    @Benchmark
+    public Catalog asYaml() throws ClassNotFoundException, IOException {
+        return new YamlTestResource(TEST_IDENTITY)
+            .resourcePath(size.resourcePath())
+            .resourceName("catalog")
+            .cached(cache)
+            .asYaml(Catalog.class);
+    }
+}
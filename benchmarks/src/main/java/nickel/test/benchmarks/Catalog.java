@@ -0,0 +1,32 @@
+package nickel.test.benchmarks;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bean bound from the benchmark fixtures, by every binding
+ */
+@XmlRootElement(name = "catalog")
+public class Catalog {
+    private String name;
+    private List<Item> items = new ArrayList<>();
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @XmlElement(name = "item")
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,111 @@
+package nickel.test.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.nodes.Tag;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Marshaller;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes the benchmark fixtures. The content depends only on the fixture size, so every build benchmarks the same
+ * bytes.
+ *
+ * <p>For each {@link FixtureSize}, the same catalog is written as {@code catalog.json}, {@code catalog.xml},
+ * {@code catalog.yaml}, {@code catalog.properties} and {@code catalog.txt}.</p>
+ */
+public final class FixtureGenerator {
+    private static final List<String> TAGS = Arrays.asList("red", "green", "blue", "bulk", "fragile", "imported");
+
+    private FixtureGenerator() {
+    }
+
+    /**
+     * @param args The output (class path) directory
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: FixtureGenerator <output directory>");
+        }
+
+        Path outputDirectory = Paths.get(args[0]);
+        for (FixtureSize size : FixtureSize.values()) {
+            writeFixtures(outputDirectory.resolve(size.resourcePath().substring(1)), catalog(size));
+        }
+    }
+
+    /**
+     * Build the catalog for a fixture size
+     */
+    public static Catalog catalog(FixtureSize size) {
+        Catalog catalog = new Catalog();
+        catalog.setName(size.name());
+        for (int i = 0; i < size.items(); i++) {
+            Item item = new Item();
+            item.setId(String.format("item-%06d", i));
+            item.setDescription(String.format("Catalog item number %d, of %d, in the %s catalog",
+                i, size.items(), size.name()));
+            item.setQuantity((i * 31) % 1000);
+            item.setPrice(((i * 7919) % 100_000) / 100.0);
+            for (int t = 0; t <= i % 3; t++) {
+                item.getTags().add(TAGS.get((i + t) % TAGS.size()));
+            }
+            catalog.getItems().add(item);
+        }
+        return catalog;
+    }
+
+    private static void writeFixtures(Path directory, Catalog catalog) throws Exception {
+        Files.createDirectories(directory);
+
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        mapper.writeValue(directory.resolve("catalog.json").toFile(), catalog);
+
+        Marshaller marshaller = JAXBContext.newInstance(Catalog.class).createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+        try (OutputStream stream = Files.newOutputStream(directory.resolve("catalog.xml"))) {
+            marshaller.marshal(catalog, stream);
+        }
+
+        try (Writer writer = Files.newBufferedWriter(directory.resolve("catalog.yaml"), StandardCharsets.UTF_8)) {
+            writer.write(new Yaml().dumpAs(catalog, Tag.MAP, DumperOptions.FlowStyle.BLOCK));
+        }
+
+        writeProperties(directory.resolve("catalog.properties"), catalog);
+
+        try (Writer writer = Files.newBufferedWriter(directory.resolve("catalog.txt"), StandardCharsets.UTF_8)) {
+            for (Item item : catalog.getItems()) {
+                writer.write(String.format(Locale.ROOT, "%s\t%s\t%d\t%.2f\n",
+                    item.getId(), item.getDescription(), item.getQuantity(), item.getPrice()));
+            }
+        }
+    }
+
+    /**
+     * Written by hand, since {@link java.util.Properties#store} adds a timestamp
+     */
+    private static void writeProperties(Path file, Catalog catalog) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.ISO_8859_1)) {
+            writer.write("catalog.name=" + catalog.getName() + "\n");
+            for (Item item : catalog.getItems()) {
+                String prefix = "item." + item.getId();
+                writer.write(prefix + ".description=" + item.getDescription() + "\n");
+                writer.write(prefix + ".quantity=" + item.getQuantity() + "\n");
+                writer.write(prefix + ".price=" + item.getPrice() + "\n");
+                writer.write(prefix + ".tags=" + String.join(",", item.getTags()) + "\n");
+            }
+        }
+    }
+}
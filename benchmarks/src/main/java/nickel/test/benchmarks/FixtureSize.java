@@ -0,0 +1,42 @@
+package nickel.test.benchmarks;
+
+/**
+ * Sizes of the generated benchmark fixtures. Each size is a catalog, written out once per format under
+ * {@code /fixtures/<size>/}.
+ */
+public enum FixtureSize {
+    /**
+     * About 1.5 KiB of JSON
+     */
+    small(8),
+
+    /**
+     * About 190 KiB of JSON
+     */
+    medium(1_000),
+
+    /**
+     * About 3 MiB of JSON
+     */
+    large(16_000);
+
+    private final int items;
+
+    FixtureSize(int items) {
+        this.items = items;
+    }
+
+    /**
+     * The number of items in the catalog
+     */
+    public int items() {
+        return items;
+    }
+
+    /**
+     * The absolute resource path of the fixtures of this size
+     */
+    public String resourcePath() {
+        return "/fixtures/" + name();
+    }
+}
@@ -0,0 +1,75 @@
+package nickel.test.benchmarks;
+
+import nickel.test.annotations.NickelTestResource;
+import nickel.test.annotations.PrefetchResources;
+import nickel.test.inject.NickelTestInjector;
+import nickel.test.strategy.TestIdentity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static nickel.test.annotations.NickelTestResource.Binding.jackson;
+import static nickel.test.annotations.NickelTestResource.Binding.jaxb;
+import static nickel.test.annotations.NickelTestResource.Binding.yaml;
+
+/**
+ * Injecting a test instance with one field per binding, as a test class with small fixtures would see it
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InjectorBenchmark {
+    private static final TestIdentity TEST_IDENTITY =
+        new TestIdentity(InjectedTest.class, Optional.of("benchmark"));
+
+    @Benchmark
+    public Object injectAllFields() {
+        InjectedTest testInstance = new InjectedTest();
+        new NickelTestInjector(testInstance, TEST_IDENTITY).injectAllFields();
+        return testInstance;
+    }
+
+    @Benchmark
+    public Object injectAllFieldsPrefetched() {
+        InjectedTest testInstance = new PrefetchedTest();
+        new NickelTestInjector(testInstance, TEST_IDENTITY).injectAllFields();
+        return testInstance;
+    }
+
+    public static class InjectedTest {
+        @NickelTestResource(resourcePath = "/fixtures/small", resourceName = "catalog.txt")
+        byte[] bytes;
+
+        @NickelTestResource(resourcePath = "/fixtures/small", resourceName = "catalog.txt")
+        String string;
+
+        @NickelTestResource(resourcePath = "/fixtures/small", resourceName = "catalog")
+        Properties properties;
+
+        @NickelTestResource(resourcePath = "/fixtures/small", resourceName = "catalog", with = jackson)
+        Catalog jsonCatalog;
+
+        @NickelTestResource(resourcePath = "/fixtures/small", resourceName = "catalog", with = jaxb)
+        Catalog xmlCatalog;
+
+        @NickelTestResource(resourcePath = "/fixtures/small", resourceName = "catalog", with = yaml)
+        Catalog yamlCatalog;
+    }
+
+    @PrefetchResources
+    public static class PrefetchedTest extends InjectedTest {
+    }
+}
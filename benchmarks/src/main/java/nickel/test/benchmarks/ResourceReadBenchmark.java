@@ -0,0 +1,57 @@
+package nickel.test.benchmarks;
+
+import nickel.test.NickelTestResource;
+import nickel.test.strategy.TestIdentity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading resources without an object binding. The naming strategy is fixed, so only resolution and I/O are measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ResourceReadBenchmark {
+    private static final TestIdentity TEST_IDENTITY =
+        new TestIdentity(ResourceReadBenchmark.class, Optional.of("benchmark"));
+
+    @Param({"small", "medium", "large"})
+    public FixtureSize size;
+
+    @Benchmark
+    public byte[] asBytes() throws IOException {
+        return resource("catalog.txt").asBytes();
+    }
+
+    @Benchmark
+    public String asString() throws IOException {
+        return resource("catalog.txt").asString("UTF-8");
+    }
+
+    @Benchmark
+    public Properties asProperties() throws IOException {
+        return resource("catalog").asProperties();
+    }
+
+    private NickelTestResource<?> resource(String resourceName) {
+        return new NickelTestResource<>(TEST_IDENTITY)
+            .resourcePath(size.resourcePath())
+            .resourceName(resourceName);
+    }
+}
@@ -0,0 +1,85 @@
+package nickel.test.benchmarks;
+
+import nickel.test.junit4.JUnit4StackBasedNamingStrategy;
+import nickel.test.junit5.JUnit5StackBasedNamingStrategy;
+import nickel.test.strategy.ResourceNamingStrategy;
+import nickel.test.strategy.StackSearchStrategy;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding the current test on the stack. Each benchmark calls a test method, which calls down {@code depth} more
+ * frames before searching, so the search has to walk past them to find the test.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class StackSearchBenchmark {
+    private static final List<Class<? extends Annotation>> TEST_ANNOTATIONS =
+        Arrays.asList(Test.class, org.junit.jupiter.api.Test.class);
+
+    private final ResourceNamingStrategy junit4Strategy = new JUnit4StackBasedNamingStrategy();
+    private final ResourceNamingStrategy junit5Strategy = new JUnit5StackBasedNamingStrategy();
+
+    @Param({"0", "16", "64", "256"})
+    public int depth;
+
+    @Benchmark
+    public Object locateAnnotatedMethod() throws Exception {
+        return new SyntheticTest(depth, () -> StackSearchStrategy.locateAnnotatedMethod(TEST_ANNOTATIONS))
+            .syntheticTest();
+    }
+
+    @Benchmark
+    public Object junit4TestIdentity() throws Exception {
+        return new SyntheticTest(depth, junit4Strategy::testIdentity).syntheticTest();
+    }
+
+    @Benchmark
+    public Object junit5TestIdentity() throws Exception {
+        return new SyntheticTest(depth, junit5Strategy::testIdentity).syntheticTest();
+    }
+
+    /**
+     * Stands in for a test class, with a single test method annotated for both frameworks
+     */
+    public static class SyntheticTest {
+        private final int depth;
+        private final Callable<Object> search;
+
+        SyntheticTest(int depth, Callable<Object> search) {
+            this.depth = depth;
+            this.search = search;
+        }
+
+        @Test
+        @org.junit.jupiter.api.Test
+        public Object syntheticTest() throws Exception {
+            return descend(depth);
+        }
+
+        private Object descend(int remaining) throws Exception {
+            return (remaining == 0)
+                ? search.call()
+                : descend(remaining - 1);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package nickel.test.benchmarks.suite;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Fixture reads for the baseline styles: the same resources nickel-test would find, read without it
+ */
+public final class BaselineFixtures {
+    private BaselineFixtures() {
+    }
+
+    /**
+     * Read a class-relative fixture, as {@code testResource().forTestClass().resourceName(name)} would
+     *
+     * @param testClass The test class
+     * @param name      The fixture name
+     * @return The fixture content
+     */
+    public static String read(Class<?> testClass, String name) throws IOException {
+        String path = "/" + testClass.getSimpleName() + "/" + name;
+        try (InputStream stream = testClass.getResourceAsStream(path)) {
+            if (stream == null) {
+                throw new FileNotFoundException(path);
+            }
+
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int count;
+            while ((count = stream.read(buffer)) >= 0) {
+                content.write(buffer, 0, count);
+            }
+            return content.toString("UTF-8");
+        }
+    }
+}
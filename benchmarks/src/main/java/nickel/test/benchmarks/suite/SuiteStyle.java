@@ -0,0 +1,149 @@
+package nickel.test.benchmarks.suite;
+
+/**
+ * The ways a synthetic test class can load its fixtures. Each nickel-test style is measured against a baseline on the
+ * same test engine, which reads the same fixtures with plain {@link Class#getResourceAsStream(String)} calls, so the
+ * difference between the two is the cost of nickel-test.
+ */
+public enum SuiteStyle {
+    /**
+     * JUnit 4 tests reading their fixtures directly
+     */
+    junit4Baseline("Junit4Baseline", null),
+
+    /**
+     * JUnit 4 tests with fields injected by {@code NickelTestRule}
+     */
+    junit4Rule("Junit4Rule", junit4Baseline),
+
+    /**
+     * JUnit 4 tests loading their fixtures through {@code NickelTestResource.testResource()}
+     */
+    staticApi("StaticApi", junit4Baseline),
+
+    /**
+     * JUnit 5 tests reading their fixtures directly
+     */
+    junit5Baseline("Junit5Baseline", null),
+
+    /**
+     * JUnit 5 tests with fields injected by {@code NickelTestExtension}
+     */
+    junit5Extension("Junit5Extension", junit5Baseline);
+
+    static final String PACKAGE = "synthetic";
+
+    private final String classPrefix;
+    private final SuiteStyle baseline;
+
+    SuiteStyle(String classPrefix, SuiteStyle baseline) {
+        this.classPrefix = classPrefix;
+        this.baseline = baseline;
+    }
+
+    /**
+     * The baseline this style is compared with, or null if it's a baseline itself
+     */
+    public SuiteStyle baseline() {
+        return baseline;
+    }
+
+    /**
+     * The simple name of a generated test class
+     *
+     * @param classIndex Index of the class in the suite
+     */
+    String simpleClassName(int classIndex) {
+        return String.format("%s%04dTest", classPrefix, classIndex);
+    }
+
+    /**
+     * Generate the source of a test class
+     *
+     * @param classIndex Index of the class in the suite
+     * @param methods    Number of test methods
+     * @param fixtures   Number of fixtures each test method reads
+     */
+    String source(int classIndex, int methods, int fixtures) {
+        String className = simpleClassName(classIndex);
+        StringBuilder source = new StringBuilder()
+            .append("package ").append(PACKAGE).append(";\n\n");
+
+        switch (this) {
+            case junit4Baseline:
+            case junit5Baseline:
+                source.append(classDeclaration(className)).append(" {\n");
+                appendTestMethods(source, methods, fixtures,
+                    BaselineFixtures.class.getName() + ".read(getClass(), \"fixture%d.txt\")");
+                break;
+            case junit4Rule:
+                source.append(classDeclaration(className)).append(" {\n")
+                    .append("    @org.junit.Rule\n")
+                    .append("    public nickel.test.junit4.NickelTestRule rule = new nickel.test.junit4.NickelTestRule();\n\n")
+                    .append("    @org.junit.Before\n")
+                    .append("    public void injectResources() {\n")
+                    .append("        rule.injectResources(this);\n")
+                    .append("    }\n\n");
+                appendFixtureFields(source, fixtures);
+                appendTestMethods(source, methods, fixtures, "fixture%d");
+                break;
+            case staticApi:
+                source.append(classDeclaration(className)).append(" {\n");
+                appendTestMethods(source, methods, fixtures,
+                    "nickel.test.NickelTestResource.testResource().forTestClass()"
+                        + ".resourceName(\"fixture%d.txt\").asString(\"UTF-8\")");
+                break;
+            case junit5Extension:
+                source.append("@org.junit.jupiter.api.extension.ExtendWith(nickel.test.junit5.NickelTestExtension.class)\n")
+                    .append(classDeclaration(className)).append(" {\n");
+                appendFixtureFields(source, fixtures);
+                appendTestMethods(source, methods, fixtures, "fixture%d");
+                break;
+            default:
+                throw new IllegalStateException("Unknown style: " + this);
+        }
+
+        return source.append("}\n").toString();
+    }
+
+    private boolean junit4() {
+        return this != junit5Baseline && this != junit5Extension;
+    }
+
+    private String classDeclaration(String className) {
+        return junit4()
+            ? "public class " + className
+            : "class " + className;
+    }
+
+    private void appendFixtureFields(StringBuilder source, int fixtures) {
+        for (int f = 0; f < fixtures; f++) {
+            source.append(String.format(
+                "    @nickel.test.annotations.NickelTestResource(resourceName = \"fixture%d.txt\")\n", f));
+            source.append(String.format("    String fixture%d;\n\n", f));
+        }
+    }
+
+    private void appendTestMethods(StringBuilder source, int methods, int fixtures, String fixtureExpression) {
+        for (int m = 0; m < methods; m++) {
+            if (junit4()) {
+                source.append("    @org.junit.Test\n")
+                    .append(String.format("    public void test%d() throws Exception {\n", m));
+            } else {
+                source.append("    @org.junit.jupiter.api.Test\n")
+                    .append(String.format("    void test%d() throws Exception {\n", m));
+            }
+
+            source.append("        int length = 0;\n");
+            for (int f = 0; f < fixtures; f++) {
+                source.append("        length += ")
+                    .append(String.format(fixtureExpression, f))
+                    .append(".length();\n");
+            }
+            source.append("        if (length == 0) {\n")
+                .append("            throw new AssertionError(\"Empty fixtures\");\n")
+                .append("        }\n")
+                .append("    }\n\n");
+        }
+    }
+}
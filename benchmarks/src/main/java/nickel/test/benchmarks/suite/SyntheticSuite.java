@@ -0,0 +1,150 @@
+package nickel.test.benchmarks.suite;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A generated suite of test classes: for each style, N classes of M test methods, each reading K fixtures. Sources are
+ * compiled, and fixtures written, into a class directory that's loaded with a fresh class loader for each run.
+ */
+final class SyntheticSuite {
+    private final int classes;
+    private final int methods;
+    private final int fixtures;
+    private final Path classDirectory;
+
+    private SyntheticSuite(int classes, int methods, int fixtures, Path classDirectory) {
+        this.classes = classes;
+        this.methods = methods;
+        this.fixtures = fixtures;
+        this.classDirectory = classDirectory;
+    }
+
+    /**
+     * Generate and compile the suite
+     *
+     * @param workDirectory Directory for the generated sources and classes
+     * @param styles        Styles to generate test classes for
+     * @param classes       Test classes per style
+     * @param methods       Test methods per class
+     * @param fixtures      Fixtures read by each test method
+     * @param fixtureBytes  Size of each fixture
+     */
+    static SyntheticSuite generate(
+        Path workDirectory,
+        List<SuiteStyle> styles,
+        int classes,
+        int methods,
+        int fixtures,
+        int fixtureBytes
+    ) throws IOException {
+        Path sourceDirectory = workDirectory.resolve("src").resolve(SuiteStyle.PACKAGE);
+        Path classDirectory = workDirectory.resolve("classes");
+        Files.createDirectories(sourceDirectory);
+        Files.createDirectories(classDirectory);
+
+        byte[] fixture = fixtureContent(fixtureBytes);
+        List<File> sources = new ArrayList<>();
+        for (SuiteStyle style : styles) {
+            for (int c = 0; c < classes; c++) {
+                String className = style.simpleClassName(c);
+                Path source = sourceDirectory.resolve(className + ".java");
+                Files.write(source, style.source(c, methods, fixtures).getBytes(StandardCharsets.UTF_8));
+                sources.add(source.toFile());
+
+                Path fixtureDirectory = classDirectory.resolve(className);
+                Files.createDirectories(fixtureDirectory);
+                for (int f = 0; f < fixtures; f++) {
+                    Files.write(fixtureDirectory.resolve("fixture" + f + ".txt"), fixture);
+                }
+            }
+        }
+
+        compile(sources, classDirectory);
+        return new SyntheticSuite(classes, methods, fixtures, classDirectory);
+    }
+
+    private static byte[] fixtureContent(int fixtureBytes) {
+        byte[] content = new byte[fixtureBytes];
+        for (int i = 0; i < fixtureBytes; i++) {
+            content[i] = (byte) ((i % 64 == 63) ? '\n' : 'a' + (i % 26));
+        }
+        return content;
+    }
+
+    private static void compile(List<File> sources, Path classDirectory) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("The synthetic suite is compiled at run time, which needs a JDK");
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager =
+                 compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            List<String> options = Arrays.asList(
+                "-proc:none",
+                "-nowarn",
+                "-d", classDirectory.toString(),
+                "-classpath", System.getProperty("java.class.path"));
+            boolean compiled = compiler.getTask(null, fileManager, diagnostics, options, null,
+                fileManager.getJavaFileObjectsFromFiles(sources)).call();
+            if (!compiled) {
+                // The same error repeats in every generated class, so the first few are enough
+                String errors = diagnostics.getDiagnostics().stream()
+                    .limit(10)
+                    .map(Diagnostic::toString)
+                    .collect(Collectors.joining("\n"));
+                throw new IllegalStateException("Unable to compile the synthetic suite\n" + errors);
+            }
+        }
+    }
+
+    /**
+     * Load the test classes of a style, with a new class loader, so nothing is cached from earlier runs
+     */
+    List<Class<?>> loadClasses(SuiteStyle style) throws IOException, ClassNotFoundException {
+        ClassLoader classLoader = new URLClassLoader(
+            new URL[]{classDirectory.toUri().toURL()},
+            SyntheticSuite.class.getClassLoader());
+
+        List<Class<?>> testClasses = new ArrayList<>(classes);
+        for (int c = 0; c < classes; c++) {
+            testClasses.add(Class.forName(SuiteStyle.PACKAGE + "." + style.simpleClassName(c), false, classLoader));
+        }
+        return testClasses;
+    }
+
+    /**
+     * The number of tests in the suite, for each style
+     */
+    int tests() {
+        return classes * methods;
+    }
+
+    int classes() {
+        return classes;
+    }
+
+    int methods() {
+        return methods;
+    }
+
+    int fixtures() {
+        return fixtures;
+    }
+}
@@ -0,0 +1,246 @@
+package nickel.test.benchmarks.suite;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+/**
+ * Runs a generated suite through the JUnit Platform {@link Launcher}, in-process, once per style, and reports the
+ * cost per test of each nickel-test style over the baseline for its test engine.
+ *
+ * <p>Options, given as {@code --name=value}:</p>
+ * <ul>
+ *     <li>{@code classes} - test classes per style (default 100)</li>
+ *     <li>{@code methods} - test methods per class (default 20)</li>
+ *     <li>{@code fixtures} - fixtures read by each test (default 3)</li>
+ *     <li>{@code fixtureBytes} - size of each fixture (default 1024)</li>
+ *     <li>{@code warmups} - untimed runs of each style (default 3)</li>
+ *     <li>{@code runs} - timed runs of each style; the median is reported (default 5)</li>
+ *     <li>{@code styles} - comma-separated {@link SuiteStyle} names (default all)</li>
+ *     <li>{@code workDir} - where the suite is generated (default target/synthetic-suite)</li>
+ *     <li>{@code result} - the JSON result file (default target/synthetic-suite.json)</li>
+ * </ul>
+ *
+ * <p>Each run loads the test classes with a new class loader, so per-class work is repeated as it would be in a real
+ * build. Allocation is measured on the thread running the launcher, which also runs the tests.</p>
+ */
+public final class SyntheticSuiteBenchmark {
+    private SyntheticSuiteBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int classes = Integer.parseInt(options.getOrDefault("classes", "100"));
+        int methods = Integer.parseInt(options.getOrDefault("methods", "20"));
+        int fixtures = Integer.parseInt(options.getOrDefault("fixtures", "3"));
+        int fixtureBytes = Integer.parseInt(options.getOrDefault("fixtureBytes", "1024"));
+        int warmups = Integer.parseInt(options.getOrDefault("warmups", "3"));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        List<SuiteStyle> styles = styles(options.get("styles"));
+        Path workDirectory = Paths.get(options.getOrDefault("workDir", "target/synthetic-suite"));
+        Path resultFile = Paths.get(options.getOrDefault("result", "target/synthetic-suite.json"));
+
+        SyntheticSuite suite = SyntheticSuite.generate(workDirectory, styles, classes, methods, fixtures, fixtureBytes);
+        Launcher launcher = LauncherFactory.create();
+
+        Map<SuiteStyle, List<RunResult>> results = new EnumMap<>(SuiteStyle.class);
+        for (int run = 0; run < warmups + runs; run++) {
+            // Styles take turns, so drift over the course of the benchmark affects them all alike
+            for (SuiteStyle style : styles) {
+                RunResult result = runSuite(launcher, suite, style);
+                if (run >= warmups) {
+                    results.computeIfAbsent(style, s -> new ArrayList<>()).add(result);
+                }
+            }
+        }
+
+        Map<String, Object> report = report(suite, fixtureBytes, warmups, runs, results);
+        Files.createDirectories(resultFile.toAbsolutePath().getParent());
+        new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .writeValue(resultFile.toFile(), report);
+        printReport(suite, results);
+        System.out.printf("Results written to %s%n", resultFile);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Options are given as --name=value: " + arg);
+            }
+            int equals = arg.indexOf('=');
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    private static List<SuiteStyle> styles(String styleNames) {
+        if (styleNames == null) {
+            return Arrays.asList(SuiteStyle.values());
+        }
+
+        List<SuiteStyle> styles = new ArrayList<>();
+        for (String styleName : styleNames.split(",")) {
+            SuiteStyle style = SuiteStyle.valueOf(styleName.trim());
+            // Overhead is measured against the baseline, so it always runs
+            if (style.baseline() != null && !styles.contains(style.baseline())) {
+                styles.add(style.baseline());
+            }
+            if (!styles.contains(style)) {
+                styles.add(style);
+            }
+        }
+        return styles;
+    }
+
+    private static RunResult runSuite(Launcher launcher, SyntheticSuite suite, SuiteStyle style) throws Exception {
+        List<Class<?>> testClasses = suite.loadClasses(style);
+        LauncherDiscoveryRequest request = request()
+            .selectors(testClasses.stream()
+                .map(testClass -> selectClass(testClass))
+                .collect(Collectors.toList()))
+            .build();
+        SummaryGeneratingListener listener = new SummaryGeneratingListener();
+
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(testClasses.get(0).getClassLoader());
+        try {
+            long startBytes = allocatedBytes();
+            long startNanos = System.nanoTime();
+            launcher.execute(request, listener);
+            long nanos = System.nanoTime() - startNanos;
+            long bytes = allocatedBytes() - startBytes;
+
+            TestExecutionSummary summary = listener.getSummary();
+            if (summary.getTestsSucceededCount() != suite.tests()) {
+                throw new IllegalStateException(String.format(
+                    "%s: %d of %d tests succeeded, %d failed",
+                    style, summary.getTestsSucceededCount(), suite.tests(), summary.getTotalFailureCount()));
+            }
+            return new RunResult(nanos, bytes);
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+            .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static Map<String, Object> report(
+        SyntheticSuite suite,
+        int fixtureBytes,
+        int warmups,
+        int runs,
+        Map<SuiteStyle, List<RunResult>> results
+    ) {
+        Map<String, Object> configuration = new LinkedHashMap<>();
+        configuration.put("classes", suite.classes());
+        configuration.put("methods", suite.methods());
+        configuration.put("fixtures", suite.fixtures());
+        configuration.put("fixtureBytes", fixtureBytes);
+        configuration.put("warmups", warmups);
+        configuration.put("runs", runs);
+        configuration.put("javaVersion", System.getProperty("java.version"));
+
+        Map<String, Object> styleReports = new LinkedHashMap<>();
+        results.forEach((style, styleResults) -> {
+            RunResult median = RunResult.median(styleResults);
+            Map<String, Object> styleReport = new LinkedHashMap<>();
+            styleReport.put("tests", suite.tests());
+            styleReport.put("wallTimeMillis", median.nanos / 1e6);
+            styleReport.put("timePerTestMicros", median.nanos / 1e3 / suite.tests());
+            styleReport.put("bytesPerTest", median.bytes / suite.tests());
+            if (style.baseline() != null) {
+                RunResult baseline = RunResult.median(results.get(style.baseline()));
+                styleReport.put("baseline", style.baseline().name());
+                styleReport.put("overheadPerTestMicros", (median.nanos - baseline.nanos) / 1e3 / suite.tests());
+                styleReport.put("overheadBytesPerTest", (median.bytes - baseline.bytes) / suite.tests());
+            }
+            styleReport.put("runs", styleResults);
+            styleReports.put(style.name(), styleReport);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("configuration", configuration);
+        report.put("styles", styleReports);
+        return report;
+    }
+
+    private static void printReport(SyntheticSuite suite, Map<SuiteStyle, List<RunResult>> results) {
+        System.out.printf("%d classes x %d methods x %d fixtures (%d tests per style)%n",
+            suite.classes(), suite.methods(), suite.fixtures(), suite.tests());
+        System.out.printf("%-16s %12s %12s %12s %14s %14s%n",
+            "Style", "Wall (ms)", "us/test", "B/test", "+us/test", "+B/test");
+        results.forEach((style, styleResults) -> {
+            RunResult median = RunResult.median(styleResults);
+            String overheadMicros = "";
+            String overheadBytes = "";
+            if (style.baseline() != null) {
+                RunResult baseline = RunResult.median(results.get(style.baseline()));
+                overheadMicros = String.format("%.1f", (median.nanos - baseline.nanos) / 1e3 / suite.tests());
+                overheadBytes = String.valueOf((median.bytes - baseline.bytes) / suite.tests());
+            }
+            System.out.printf("%-16s %12.1f %12.1f %12d %14s %14s%n",
+                style,
+                median.nanos / 1e6,
+                median.nanos / 1e3 / suite.tests(),
+                median.bytes / suite.tests(),
+                overheadMicros,
+                overheadBytes);
+        });
+    }
+
+    /**
+     * Wall time and allocation of one run of a style
+     */
+    static final class RunResult {
+        private final long nanos;
+        private final long bytes;
+
+        RunResult(long nanos, long bytes) {
+            this.nanos = nanos;
+            this.bytes = bytes;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * The run with the median wall time
+         */
+        static RunResult median(List<RunResult> results) {
+            List<RunResult> sorted = new ArrayList<>(results);
+            Collections.sort(sorted, (a, b) -> Long.compare(a.nanos, b.nanos));
+            return sorted.get(sorted.size() / 2);
+        }
+    }
+}
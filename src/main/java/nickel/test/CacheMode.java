@@ -0,0 +1,21 @@
+package nickel.test;
+
+/**
+ * Whether, and how, parsed test resources are cached across loads. See {@link FixtureCache}.
+ */
+public enum CacheMode {
+    /**
+     * Read and parse the resource on every load
+     */
+    none,
+
+    /**
+     * Parse once, and hand the same instance to every caller. Only for tests that never modify their fixtures.
+     */
+    shared,
+
+    /**
+     * Parse once, and hand each caller its own copy, so tests that modify their fixtures stay isolated
+     */
+    copy,
+}
@@ -0,0 +1,200 @@
+package nickel.test;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * JVM-wide cache of parsed test resources, for resources loaded with a {@link CacheMode} other than
+ * {@link CacheMode#none}.
+ *
+ * <p>Entries are keyed by class loader, absolute resource path, binding, target type and binding context (e.g. the
+ * {@code ObjectMapper} used). Class loaders and binding contexts are compared by identity; binding contexts are weakly
+ * referenced.
+ * Each entry is weighed by the size of the resource it was parsed from, and the least recently used entries are
+ * evicted once the total weight exceeds the maximum. With {@link ResourceLocator#checkFileTimestamps(boolean)} on,
+ * a resource file that has been edited is parsed again, into a new entry.</p>
+ */
+public final class FixtureCache {
+    /**
+     * Default maximum weight: 64 MiB of source resources
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 64L * 1024 * 1024;
+
+    private static volatile Cache<FixtureKey, CachedFixture> fixtures = newCache(DEFAULT_MAXIMUM_WEIGHT);
+
+    private FixtureCache() {
+    }
+
+    /**
+     * Replace the cache with an empty one, bounded by the given weight.
+     *
+     * @param maximumWeight Maximum total size, in bytes, of the resources behind the cached entries
+     */
+    public static void maximumWeight(long maximumWeight) {
+        fixtures = newCache(maximumWeight);
+    }
+
+    /**
+     * Discard all cached fixtures
+     */
+    public static void invalidateAll() {
+        fixtures.invalidateAll();
+    }
+
+    /**
+     * Approximate number of cached fixtures
+     */
+    public static long size() {
+        return fixtures.size();
+    }
+
+    /**
+     * Get a cached fixture, or load it.
+     *
+     * @param key    The fixture key
+     * @param loader Loads the fixture on a cache miss
+     * @return The cached fixture
+     * @throws Exception Whatever the loader threw, unwrapped
+     */
+    static CachedFixture get(FixtureKey key, Callable<CachedFixture> loader) throws Exception {
+        try {
+            return fixtures.get(key, loader);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwable cause = e.getCause();
+            throw (cause instanceof Exception)
+                ? (Exception) cause
+                : e;
+        } catch (ExecutionError e) {
+            Throwable cause = e.getCause();
+            throw (cause instanceof Error)
+                ? (Error) cause
+                : e;
+        }
+    }
+
+    private static Cache<FixtureKey, CachedFixture> newCache(long maximumWeight) {
+        return CacheBuilder.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((FixtureKey key, CachedFixture fixture) -> fixture.weight)
+            .build();
+    }
+
+    /**
+     * A parsed fixture, with the size of the resource it came from.
+     */
+    static final class CachedFixture {
+        private final Object value;
+        private final byte[] source;
+        private final int weight;
+
+        /**
+         * @param value       The parsed fixture
+         * @param sourceBytes Size of the resource the fixture was parsed from
+         * @param source      The resource content, retained for re-parsing, or null
+         */
+        CachedFixture(Object value, long sourceBytes, byte[] source) {
+            this.value = value;
+            this.source = source;
+            this.weight = Ints.saturatedCast((source == null) ? sourceBytes : sourceBytes + source.length);
+        }
+
+        Object value() {
+            return value;
+        }
+
+        /**
+         * Retained resource content, or null
+         */
+        byte[] source() {
+            return source;
+        }
+    }
+
+    /**
+     * Cache key. The class loader is held strongly: the cached value is an instance of classes from that loader, so the
+     * entry pins it regardless. The binding context is weakly held; once it's collected, the key can no longer match,
+     * and its entry ages out.
+     */
+    static final class FixtureKey {
+        private final ClassLoader classLoader;
+        private final String resourcePath;
+        private final long resourceVersion;
+        private final String binding;
+        private final Type targetType;
+        private final WeakReference<Object> bindingContext;
+        private final int hashCode;
+
+        /**
+         * @param classLoader     The class loader the resource is resolved against
+         * @param resourcePath    The absolute resource path (no leading slash)
+         * @param resourceVersion Modification time of the resource file, or 0 if unknown
+         * @param binding         Describes how the resource is parsed (e.g. "jackson", "string:UTF-8")
+         * @param targetType      The type the resource is parsed into
+         * @param bindingContext  The binding context used for parsing, or null for the default
+         */
+        FixtureKey(
+            ClassLoader classLoader,
+            String resourcePath,
+            long resourceVersion,
+            String binding,
+            Type targetType,
+            Object bindingContext
+        ) {
+            this.classLoader = classLoader;
+            this.resourcePath = resourcePath;
+            this.resourceVersion = resourceVersion;
+            this.binding = binding;
+            this.targetType = targetType;
+            this.bindingContext = weakReference(bindingContext);
+            this.hashCode = Objects.hash(
+                System.identityHashCode(classLoader),
+                resourcePath,
+                resourceVersion,
+                binding,
+                targetType,
+                System.identityHashCode(bindingContext));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            FixtureKey that = (FixtureKey) o;
+            return hashCode == that.hashCode
+                && resourcePath.equals(that.resourcePath)
+                && resourceVersion == that.resourceVersion
+                && binding.equals(that.binding)
+                && targetType.equals(that.targetType)
+                && classLoader == that.classLoader
+                && sameReferent(bindingContext, that.bindingContext);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        private static <T> WeakReference<T> weakReference(T referent) {
+            return (referent == null)
+                ? null
+                : new WeakReference<>(referent);
+        }
+
+        private static boolean sameReferent(WeakReference<?> a, WeakReference<?> b) {
+            if (a == null || b == null) {
+                return a == b;
+            }
+            Object referent = a.get();
+            return referent != null && referent == b.get();
+        }
+    }
+}
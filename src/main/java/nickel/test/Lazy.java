@@ -0,0 +1,61 @@
+package nickel.test;
+
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A value that is only computed when first needed, then kept.
+ *
+ * <p>Declare a {@code @NickelTestResource} field or parameter as {@code Lazy<T>} (or {@code Supplier<T>}) to load
+ * the resource on first access, rather than before the test runs. The type argument decides how the resource is
+ * loaded, just as the declared type does for other fields.</p>
+ *
+ * @param <T> The value type
+ */
+public final class Lazy<T> implements Supplier<T> {
+    /**
+     * Wrap a supplier, so it's called at most once. If the supplier fails, the next call tries again.
+     *
+     * @param supplier Computes the value
+     * @param <T>      The value type
+     */
+    public static <T> Lazy<T> of(Supplier<? extends T> supplier) {
+        return new Lazy<>(supplier);
+    }
+
+    private final Supplier<? extends T> supplier;
+    private volatile boolean loaded;
+    private T value;
+
+    private Lazy(Supplier<? extends T> supplier) {
+        this.supplier = requireNonNull(supplier, "supplier");
+    }
+
+    @Override
+    public T get() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    value = supplier.get();
+                    loaded = true;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Whether the value has been computed yet
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    @Override
+    public String toString() {
+        return loaded
+            ? "Lazy{" + value + '}'
+            : "Lazy{not loaded}";
+    }
+}
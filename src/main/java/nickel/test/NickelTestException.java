@@ -8,4 +8,8 @@ public class NickelTestException extends RuntimeException {
     public NickelTestException(String s) {
         super(s);
     }
+
+    public NickelTestException(String s, Throwable t) {
+        super(s, t);
+    }
 }
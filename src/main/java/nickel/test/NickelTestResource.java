@@ -1,15 +1,38 @@
 package nickel.test;
 
+import nickel.test.FixtureCache.CachedFixture;
+import nickel.test.FixtureCache.FixtureKey;
+import nickel.test.ResourceLocator.Resolution;
+import nickel.test.metrics.FlightRecorderEvent;
+import nickel.test.metrics.ResourceLoadEvent;
+import nickel.test.metrics.ResourceLoadEvent.CacheOutcome;
+import nickel.test.metrics.ResourceLoadListener;
+import nickel.test.metrics.ResourceLoadListeners;
 import nickel.test.strategy.ResourceNamingStrategy;
+import nickel.test.strategy.TestIdentity;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Properties;
+import java.util.concurrent.Callable;
 
 import static java.util.Objects.requireNonNull;
-import static nickel.test.strategy.StackBasedNamingStrategy.stackBasedStrategy;
+import static nickel.test.strategy.CurrentNamingStrategy.currentStrategy;
 
 /**
  * Test case resource. Local a resource for your test!
@@ -18,7 +41,7 @@ import static nickel.test.strategy.StackBasedNamingStrategy.stackBasedStrategy;
  */
 public class NickelTestResource<T extends NickelTestResource> {
     public static NickelTestResource<NickelTestResource> testResource() {
-        return new NickelTestResource<>(stackBasedStrategy());
+        return new NickelTestResource<>(currentStrategy());
     }
 
     private final ResourceNamingStrategy namingStrategy;
@@ -26,8 +49,13 @@ public class NickelTestResource<T extends NickelTestResource> {
     private String resourceExtension = "";
     private String resourceName = "";
     private String resourcePath = "";
+    private String resolvedPath;
 
     private boolean includeTestClassPackageInPath = false;
+    private CacheMode cacheMode = CacheMode.none;
+    private String elementName;
+    private TestIdentity testIdentity;
+    private LoadTrace loadTrace;
 
     public NickelTestResource(ResourceNamingStrategy namingStrategy) {
         this.namingStrategy = requireNonNull(namingStrategy, "namingStrategy");
@@ -109,13 +137,78 @@ public class NickelTestResource<T extends NickelTestResource> {
         return instance;
     }
 
+    /**
+     * Use a fully resolved resource path, as-is. Name derivation, and default extensions, no longer apply.
+     *
+     * @param resolvedPath Resource path, including name and extension. As with {@link #resourcePath(String)}, a
+     *                     leading / (forward slash) makes it absolute.
+     */
+    public T resolvedPath(String resolvedPath) {
+        this.resolvedPath = resolvedPath;
+        return instance;
+    }
+
+    /**
+     * Cache the parsed resource in the {@link FixtureCache}, so later loads of the same resource, into the same type,
+     * skip reading and parsing. Streams are never cached.
+     *
+     * @param cacheMode Whether loads share one parsed instance, or each get their own copy
+     */
+    public T cached(CacheMode cacheMode) {
+        this.cacheMode = requireNonNull(cacheMode, "cacheMode");
+        return instance;
+    }
+
+    /**
+     * Name the field or parameter the resource is loaded into, for {@link ResourceLoadListener}s
+     *
+     * @param elementName The field or parameter name
+     */
+    public T elementName(String elementName) {
+        this.elementName = elementName;
+        return instance;
+    }
+
     /**
      * Get the resource as an {@link InputStream}
      *
      * @return Results of {@link Class#getResourceAsStream(String)} for the fully-resolved path
      */
     public InputStream asStream() {
-        return resolveStream();
+        return openStream("stream", InputStream.class);
+    }
+
+    /**
+     * Get the resource as a {@link ReadableByteChannel}: a {@link FileChannel} for resources in the file system, or a
+     * channel over the resource stream otherwise. The caller closes the channel.
+     *
+     * @return An open channel on the resource
+     */
+    public ReadableByteChannel asChannel() {
+        return openResource("channel", ReadableByteChannel.class, NickelTestResource::openChannel);
+    }
+
+    /**
+     * Get the resource as a direct {@link ByteBuffer}. The resource is read once, into a buffer sized from the
+     * resource length, so its content is never held on the heap. Buffers aren't cached.
+     *
+     * @return A direct buffer, positioned at the start of the content
+     */
+    public ByteBuffer asByteBuffer() throws IOException {
+        return loadBuffer("byte-buffer", NickelTestResource::readBuffer);
+    }
+
+    /**
+     * Get the resource as a read-only {@link ByteBuffer}. Resources in the file system are mapped into memory with
+     * {@link FileChannel#map}, so they aren't read until the buffer is. Other resources, e.g. inside a jar, are read
+     * into a direct buffer, as by {@link #asByteBuffer()}. Buffers aren't cached.
+     *
+     * @return A read-only buffer, positioned at the start of the content
+     */
+    public ByteBuffer asMappedBuffer() throws IOException {
+        return loadBuffer("mapped-buffer", url -> isFile(url)
+            ? mapFile(url)
+            : readBuffer(url).asReadOnlyBuffer());
     }
 
     /**
@@ -124,9 +217,9 @@ public class NickelTestResource<T extends NickelTestResource> {
      * @return Byte array containing the content of the stream
      */
     public byte[] asBytes() throws IOException {
-        try (InputStream stream = resolveStream()) {
-            return IOUtils.toByteArray(stream);
-        }
+        return parseResource("bytes", byte[].class, null,
+            IOUtils::toByteArray,
+            byte[]::clone);
     }
 
     /**
@@ -136,9 +229,9 @@ public class NickelTestResource<T extends NickelTestResource> {
      * @return String containing the content of the resource
      */
     public String asString(String encoding) throws IOException {
-        try (InputStream stream = resolveStream()) {
-            return IOUtils.toString(stream, encoding);
-        }
+        return parseResource("string:".concat(encoding), String.class, null,
+            stream -> IOUtils.toString(stream, encoding),
+            string -> string);
     }
 
     /**
@@ -149,11 +242,13 @@ public class NickelTestResource<T extends NickelTestResource> {
     public Properties asProperties() throws IOException {
         defaultResourceExtension(".properties");
 
-        try (InputStream stream = resolveStream()) {
-            Properties properties = new Properties();
-            properties.load(stream);
-            return properties;
-        }
+        return parseResource("properties", Properties.class, null,
+            stream -> {
+                Properties properties = new Properties();
+                properties.load(stream);
+                return properties;
+            },
+            NickelTestResource::copyProperties);
     }
 
     /**
@@ -164,42 +259,421 @@ public class NickelTestResource<T extends NickelTestResource> {
     public Properties asXmlProperties() throws IOException {
         defaultResourceExtension(".xml");
 
-        try (InputStream stream = resolveStream()) {
-            Properties properties = new Properties();
-            properties.loadFromXML(stream);
-            return properties;
+        return parseResource("xml-properties", Properties.class, null,
+            stream -> {
+                Properties properties = new Properties();
+                properties.loadFromXML(stream);
+                return properties;
+            },
+            NickelTestResource::copyProperties);
+    }
+
+    private static Properties copyProperties(Properties properties) {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        return copy;
+    }
+
+    /**
+     * For sub-classes, parse the resource, going through the {@link FixtureCache} if caching was requested.
+     *
+     * @param binding        Names the parsing method, plus any setting that changes its result (e.g. encoding)
+     * @param targetType     The type the resource is parsed into
+     * @param bindingContext The binding context used for parsing (compared by identity), or null for the default
+     * @param parser         Parses the resource
+     * @param copier         Copies a parsed resource, for {@link CacheMode#copy}. If null, copies are made by parsing
+     *                       the resource again, from content retained in the cache.
+     * @param <V>            The parsed type
+     * @param <E>            Checked exception thrown by the parser
+     * @return The parsed resource
+     */
+    protected <V, E extends Exception> V parseResource(
+        String binding,
+        Type targetType,
+        Object bindingContext,
+        ResourceParser<V, E> parser,
+        ResourceCopier<V, E> copier
+    ) throws IOException, E {
+        if (!ResourceLoadListeners.enabled()) {
+            return loadResource(binding, targetType, bindingContext, parser, copier);
         }
+
+        loadTrace = new LoadTrace((cacheMode == CacheMode.none) ? CacheOutcome.uncached : CacheOutcome.hit);
+        try {
+            V value = loadResource(binding, targetType, bindingContext, parser, copier);
+            ResourceLoadListeners.resourceLoaded(loadTrace.event(binding, targetType));
+            return value;
+        } finally {
+            loadTrace = null;
+        }
+    }
+
+    private <V, E extends Exception> V loadResource(
+        String binding,
+        Type targetType,
+        Object bindingContext,
+        ResourceParser<V, E> parser,
+        ResourceCopier<V, E> copier
+    ) throws IOException, E {
+        if (cacheMode == CacheMode.none) {
+            try (InputStream stream = resolveStream()) {
+                return traced()
+                    ? tracedParse(new TimedInputStream(stream), binding, targetType, parser)
+                    : parser.parse(stream);
+            }
+        }
+
+        ClassLoader classLoader = testIdentity().testClass().getClassLoader();
+        String absolutePath = absoluteResourcePath();
+        FixtureKey key = new FixtureKey(
+            classLoader,
+            absolutePath,
+            ResourceLocator.resolve(classLoader, absolutePath).lastModified(),
+            binding,
+            targetType,
+            bindingContext);
+        CachedFixture fixture = cachedFixture(key, () -> loadFixture(binding, targetType, parser, copier == null));
+
+        //noinspection unchecked
+        V value = (V) fixture.value();
+        long copyStart = (loadTrace == null) ? 0 : System.nanoTime();
+        V result;
+        if (cacheMode == CacheMode.shared) {
+            result = value;
+        } else if (copier != null) {
+            result = copier.copy(value);
+        } else {
+            result = parser.parse(new ByteArrayInputStream(fixture.source()));
+        }
+        if (loadTrace != null) {
+            loadTrace.parseNanos += System.nanoTime() - copyStart;
+        }
+        return result;
+    }
+
+    /**
+     * For sub-classes, open the resource for reading as it's consumed, bypassing the {@link FixtureCache}. Only the
+     * time taken to open the resource is measured.
+     *
+     * @param binding    Names the reading method
+     * @param targetType The type the resource is read as
+     * @return The open resource stream, to be closed by the caller
+     */
+    protected InputStream openStream(String binding, Type targetType) {
+        return openResource(binding, targetType, URL::openStream);
+    }
+
+    /**
+     * Open the resource, for a caller that reads it. Only the time taken to open the resource is measured.
+     */
+    private <R> R openResource(String binding, Type targetType, ResourceOpener<R> opener) {
+        if (!ResourceLoadListeners.enabled()) {
+            return open(opener);
+        }
+
+        loadTrace = new LoadTrace(CacheOutcome.uncached);
+        try {
+            R resource = open(opener);
+            // The caller reads the resource, so the bytes read aren't known
+            loadTrace.bytesRead = -1;
+            ResourceLoadListeners.resourceLoaded(loadTrace.event(binding, targetType));
+            return resource;
+        } finally {
+            loadTrace = null;
+        }
+    }
+
+    private ByteBuffer loadBuffer(String binding, ResourceOpener<ByteBuffer> reader) throws IOException {
+        loadTrace = ResourceLoadListeners.enabled() ? new LoadTrace(CacheOutcome.uncached) : null;
+        try {
+            long resolveStart = (loadTrace == null) ? 0 : System.nanoTime();
+            URL url = resolveUrl();
+            FlightRecorderEvent event = FlightRecorderEvent.streamRead(absoluteResourcePath());
+            long readStart = (loadTrace == null) ? 0 : System.nanoTime();
+            ByteBuffer buffer = reader.open(url);
+            event.test(testIdentity(), elementName).bytes(buffer.capacity()).commit();
+            if (loadTrace != null) {
+                loadTrace.resolveNanos = readStart - resolveStart;
+                loadTrace.readNanos = System.nanoTime() - readStart;
+                loadTrace.bytesRead = buffer.capacity();
+                ResourceLoadListeners.resourceLoaded(loadTrace.event(binding, ByteBuffer.class));
+            }
+            return buffer;
+        } finally {
+            loadTrace = null;
+        }
+    }
+
+    private static boolean isFile(URL url) {
+        return "file".equals(url.getProtocol());
+    }
+
+    private static Path filePath(URL url) {
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new NickelTestException(e);
+        }
+    }
+
+    private static ReadableByteChannel openChannel(URL url) throws IOException {
+        return isFile(url)
+            ? FileChannel.open(filePath(url), StandardOpenOption.READ)
+            : Channels.newChannel(url.openStream());
+    }
+
+    private static ByteBuffer mapFile(URL url) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath(url), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static ByteBuffer readBuffer(URL url) throws IOException {
+        if (isFile(url)) {
+            try (FileChannel channel = FileChannel.open(filePath(url), StandardOpenOption.READ)) {
+                return readFully(channel, channel.size());
+            }
+        }
+
+        URLConnection connection = url.openConnection();
+        try (ReadableByteChannel channel = Channels.newChannel(connection.getInputStream())) {
+            return readFully(channel, connection.getContentLengthLong());
+        }
+    }
+
+    /**
+     * Read a channel into a direct buffer of the expected length. If the length is unknown, or wrong, the buffer is
+     * grown as needed.
+     */
+    private static ByteBuffer readFully(ReadableByteChannel channel, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new NickelTestException(String.format("Resource is too large for a buffer: %d bytes", length));
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect((length < 0) ? 8192 : (int) length);
+        ByteBuffer probe = ByteBuffer.allocate(1);
+        while (true) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+            if (!buffer.hasRemaining()) {
+                probe.clear();
+                if (channel.read(probe) < 0) {
+                    break;
+                }
+                buffer.flip();
+                buffer = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, 8192)).put(buffer);
+                probe.flip();
+                buffer.put(probe);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Whether the load in progress is measured, for {@link ResourceLoadListeners} or the flight recorder
+     */
+    private boolean traced() {
+        return loadTrace != null || FlightRecorderEvent.recordingLoads();
+    }
+
+    /**
+     * Read a resource in full, for a fixture that keeps its source
+     */
+    private byte[] tracedRead(InputStream stream) throws IOException {
+        FlightRecorderEvent event = FlightRecorderEvent.streamRead(absoluteResourcePath());
+        long readStart = System.nanoTime();
+        byte[] source = IOUtils.toByteArray(stream);
+        long readNanos = System.nanoTime() - readStart;
+        event.test(testIdentity(), elementName).bytes(source.length).commit();
+        if (loadTrace != null) {
+            loadTrace.readNanos += readNanos;
+            loadTrace.bytesRead = source.length;
+        }
+        return source;
+    }
+
+    /**
+     * Parse a resource as it's read, timing the reads of the stream apart from the parse, so traced loads cost no more
+     * memory than untraced ones.
+     */
+    private <V, E extends Exception> V tracedParse(
+        TimedInputStream stream,
+        String binding,
+        Type targetType,
+        ResourceParser<V, E> parser
+    ) throws IOException, E {
+        FlightRecorderEvent event = FlightRecorderEvent.bindingParse(absoluteResourcePath(), binding, targetType);
+        long parseStart = System.nanoTime();
+        V value = parser.parse(stream);
+        long parseNanos = System.nanoTime() - parseStart;
+        event.test(testIdentity(), elementName).bytes(stream.getByteCount()).readTime(stream.readNanos()).commit();
+        if (loadTrace != null) {
+            loadTrace.readNanos += stream.readNanos();
+            loadTrace.parseNanos = parseNanos - stream.readNanos();
+            loadTrace.bytesRead = Math.max(loadTrace.bytesRead, stream.getByteCount());
+        }
+        return value;
+    }
+
+    /**
+     * Parses a test resource
+     *
+     * @param <V> The parsed type
+     * @param <E> Checked exception thrown by the parser
+     */
+    @FunctionalInterface
+    protected interface ResourceParser<V, E extends Exception> {
+        V parse(InputStream stream) throws IOException, E;
+    }
+
+    /**
+     * Makes an independent copy of a parsed test resource
+     *
+     * @param <V> The parsed type
+     * @param <E> Checked exception thrown by the copier
+     */
+    @FunctionalInterface
+    protected interface ResourceCopier<V, E extends Exception> {
+        V copy(V value) throws IOException, E;
+    }
+
+    @FunctionalInterface
+    private interface ResourceOpener<R> {
+        R open(URL url) throws IOException;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Exception> CachedFixture cachedFixture(
+        FixtureKey key,
+        Callable<CachedFixture> loader
+    ) throws IOException, E {
+        try {
+            return FixtureCache.get(key, loader);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            // The loader only throws what the parser throws
+            throw (E) e;
+        }
+    }
+
+    private CachedFixture loadFixture(
+        String binding,
+        Type targetType,
+        ResourceParser<?, ?> parser,
+        boolean retainSource
+    ) throws Exception {
+        if (loadTrace != null) {
+            loadTrace.cacheOutcome = CacheOutcome.miss;
+        }
+        if (retainSource) {
+            byte[] source;
+            try (InputStream stream = resolveStream()) {
+                source = traced() ? tracedRead(stream) : IOUtils.toByteArray(stream);
+            }
+            Object value = traced()
+                ? tracedParse(new TimedInputStream(new ByteArrayInputStream(source)), binding, targetType, parser)
+                : parser.parse(new ByteArrayInputStream(source));
+            return new CachedFixture(value, source.length, source);
+        }
+
+        if (traced()) {
+            try (TimedInputStream stream = new TimedInputStream(resolveStream())) {
+                Object value = tracedParse(stream, binding, targetType, parser);
+                return new CachedFixture(value, stream.getByteCount(), null);
+            }
+        }
+
+        try (CountingInputStream stream = new CountingInputStream(resolveStream())) {
+            Object value = parser.parse(stream);
+            return new CachedFixture(value, stream.getByteCount(), null);
+        }
+    }
+
+    /**
+     * Resolve the test identity on first use, then reuse it for every naming and lookup decision made by this
+     * builder. This keeps the cost of a stack-based strategy to at most one stack walk per resource.
+     */
+    private TestIdentity testIdentity() {
+        if (testIdentity == null) {
+            FlightRecorderEvent event = FlightRecorderEvent.namingResolution(namingStrategy.getClass());
+            testIdentity = namingStrategy.testIdentity();
+            event.test(testIdentity, elementName).commit();
+        }
+        return testIdentity;
     }
 
     private void populateResourcePath() {
-        String suiteName = namingStrategy.suiteName(includeTestClassPackageInPath);
+        String suiteName = testIdentity().suiteName(includeTestClassPackageInPath);
 
         resourcePath = "/".concat(suiteName.replace(".", "/"));
     }
 
     private void populateResourceName() {
-        resourceName = namingStrategy.testName()
+        resourceName = testIdentity().testName()
             .orElseThrow(() -> new NickelTestException("Outside the scope of a test"));
     }
 
     private String fullResourcePath() {
+        if (resolvedPath != null) {
+            return resolvedPath;
+        }
+
         String partialResourceName = resourceName.concat(resourceExtension);
         return StringUtils.isBlank(resourcePath)
             ? partialResourceName
             : String.format("%s/%s", resourcePath, partialResourceName);
     }
 
+    /**
+     * The resource path as resolved by {@link Class#getResourceAsStream(String)}: absolute, without a leading slash.
+     */
+    private String absoluteResourcePath() {
+        String path = fullResourcePath();
+        if (path.startsWith("/")) {
+            return path.substring(1);
+        }
+
+        String className = testIdentity().testClass().getName();
+        int lastDot = className.lastIndexOf('.');
+        return (lastDot < 0)
+            ? path
+            : className.substring(0, lastDot).replace('.', '/') + "/" + path;
+    }
+
+    /**
+     * Open the resource. Lookups go through the {@link ResourceLocator} cache.
+     */
     protected InputStream resolveStream() {
+        return open(URL::openStream);
+    }
+
+    private <R> R open(ResourceOpener<R> opener) {
+        long resolveStart = (loadTrace == null) ? 0 : System.nanoTime();
+        URL url = resolveUrl();
         try {
-            String path = fullResourcePath();
-            Class<?> testClass = Class.forName(namingStrategy.suiteName(true));
-            InputStream stream = testClass.getResourceAsStream(path);
-            return requireNonNull(stream, path);
-        } catch (ClassNotFoundException e) {
+            R resource = opener.open(url);
+            if (loadTrace != null) {
+                loadTrace.resolveNanos = System.nanoTime() - resolveStart;
+            }
+            return resource;
+        } catch (IOException e) {
             throw new NickelTestException(e);
         }
     }
 
+    private URL resolveUrl() {
+        String path = fullResourcePath();
+        String absolutePath = absoluteResourcePath();
+        ClassLoader classLoader = testIdentity().testClass().getClassLoader();
+        FlightRecorderEvent event = FlightRecorderEvent.classpathLookup(absolutePath);
+        Resolution resolution = ResourceLocator.resolve(classLoader, absolutePath);
+        event.test(testIdentity(), elementName).found(resolution.url() != null).commit();
+        return requireNonNull(resolution.url(), path);
+    }
+
     /**
      * For sub-classes, set the resource extension if it's not already set.
      *
@@ -210,4 +684,66 @@ public class NickelTestResource<T extends NickelTestResource> {
             this.resourceExtension = resourceExtension;
         }
     }
+
+    /**
+     * For sub-classes, set the resource extension if it's not already set: to the first of the given extensions for
+     * which the resource exists, or to the first one if the resource doesn't exist with any of them.
+     *
+     * @param resourceExtension The preferred resource extension
+     * @param alternatives      Other resource extensions to look for, in order
+     */
+    protected void defaultResourceExtension(String resourceExtension, String... alternatives) {
+        if (!StringUtils.isBlank(this.resourceExtension)) {
+            return;
+        }
+
+        this.resourceExtension = resourceExtension;
+        if (resolvedPath != null || resourceExists()) {
+            return;
+        }
+        for (String alternative : alternatives) {
+            this.resourceExtension = alternative;
+            if (resourceExists()) {
+                return;
+            }
+        }
+        this.resourceExtension = resourceExtension;
+    }
+
+    private boolean resourceExists() {
+        ClassLoader classLoader = testIdentity().testClass().getClassLoader();
+        return ResourceLocator.resolve(classLoader, absoluteResourcePath()).url() != null;
+    }
+
+    /**
+     * Measurements of the load in progress, only taken while {@link ResourceLoadListeners} are registered
+     */
+    private final class LoadTrace {
+        private CacheOutcome cacheOutcome;
+        private long bytesRead;
+        private long resolveNanos;
+        private long readNanos;
+        private long parseNanos;
+
+        private LoadTrace(CacheOutcome cacheOutcome) {
+            this.cacheOutcome = cacheOutcome;
+        }
+
+        private ResourceLoadEvent event(String binding, Type targetType) {
+            TestIdentity identity = testIdentity();
+            return ResourceLoadEvent.builder()
+                .testClass(identity.testClass())
+                .testName(identity.testName().orElse(null))
+                .elementName(elementName)
+                .resourcePath(absoluteResourcePath())
+                .binding(binding)
+                .targetType(targetType)
+                .bytesRead(bytesRead)
+                .resolveNanos(resolveNanos)
+                .readNanos(readNanos)
+                .parseNanos(parseNanos)
+                .cacheOutcome(cacheOutcome)
+                .build();
+        }
+    }
 }
@@ -0,0 +1,125 @@
+package nickel.test;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of resource lookups, per class loader and absolute resource path. Resources that could not be found are
+ * cached too, so probing for optional resources doesn't search the whole classpath every time.
+ *
+ * <p>Class loaders are held by identity and weakly referenced. Lookups are cached until invalidated; optionally,
+ * resources found as plain files are re-checked by modification time, so fixtures edited (or deleted) while the JVM
+ * runs are picked up.</p>
+ */
+public final class ResourceLocator {
+    private static final LoadingCache<ClassLoader, ConcurrentMap<String, Resolution>> RESOLUTIONS =
+        CacheBuilder.newBuilder()
+            .weakKeys()
+            .build(CacheLoader.from(classLoader -> new ConcurrentHashMap<>()));
+
+    private static volatile boolean checkFileTimestamps = false;
+
+    private ResourceLocator() {
+    }
+
+    /**
+     * Re-check resources found in the file system (<code>file:</code> URLs) by modification time, and look them up
+     * again once they change. Off by default.
+     *
+     * @param checkFileTimestamps Whether to check modification times
+     */
+    public static void checkFileTimestamps(boolean checkFileTimestamps) {
+        ResourceLocator.checkFileTimestamps = checkFileTimestamps;
+    }
+
+    /**
+     * Forget all cached lookups
+     */
+    public static void invalidateAll() {
+        RESOLUTIONS.invalidateAll();
+    }
+
+    /**
+     * Forget the cached lookups for one class loader
+     *
+     * @param classLoader The class loader
+     */
+    public static void invalidate(ClassLoader classLoader) {
+        RESOLUTIONS.invalidate(loader(classLoader));
+    }
+
+    /**
+     * Look up a resource, as {@link ClassLoader#getResource(String)} would.
+     *
+     * @param classLoader  The class loader to search; null stands for the system class loader
+     * @param absolutePath The absolute resource path, without a leading slash
+     * @return The lookup result, which may be absent
+     */
+    static Resolution resolve(ClassLoader classLoader, String absolutePath) {
+        ClassLoader loader = loader(classLoader);
+        ConcurrentMap<String, Resolution> resolutions = RESOLUTIONS.getUnchecked(loader);
+
+        Resolution resolution = resolutions.get(absolutePath);
+        if (resolution == null || (checkFileTimestamps && resolution.isModified())) {
+            resolution = Resolution.of(loader.getResource(absolutePath));
+            resolutions.put(absolutePath, resolution);
+        }
+        return resolution;
+    }
+
+    private static ClassLoader loader(ClassLoader classLoader) {
+        return (classLoader == null)
+            ? ClassLoader.getSystemClassLoader()
+            : classLoader;
+    }
+
+    /**
+     * The result of a resource lookup
+     */
+    static final class Resolution {
+        private static final Resolution ABSENT = new Resolution(null, null);
+
+        private final URL url;
+        private final File file;
+        private final long lastModified;
+
+        private Resolution(URL url, File file) {
+            this.url = url;
+            this.file = file;
+            this.lastModified = (file == null)
+                ? 0L
+                : file.lastModified();
+        }
+
+        static Resolution of(URL url) {
+            return (url == null)
+                ? ABSENT
+                : new Resolution(url, FileUtils.toFile(url));
+        }
+
+        /**
+         * The resource URL, or null if the resource could not be found
+         */
+        URL url() {
+            return url;
+        }
+
+        /**
+         * Modification time of the resource file when it was looked up, or 0 if it isn't a plain file
+         */
+        long lastModified() {
+            return lastModified;
+        }
+
+        private boolean isModified() {
+            return file != null && file.lastModified() != lastModified;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package nickel.test;
+
+import org.apache.commons.io.input.CountingInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Counts the bytes read from a stream, and the time spent waiting on it, so a parser reading the stream as it goes can
+ * have its read and parse times told apart without buffering the resource first.
+ */
+final class TimedInputStream extends CountingInputStream {
+    private long readStart;
+    private long readNanos;
+
+    TimedInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    protected void beforeRead(int n) {
+        readStart = System.nanoTime();
+    }
+
+    @Override
+    protected synchronized void afterRead(int n) {
+        readNanos += System.nanoTime() - readStart;
+        super.afterRead(n);
+    }
+
+    /**
+     * The time spent in reads of the underlying stream, in nanoseconds
+     */
+    long readNanos() {
+        return readNanos;
+    }
+}
@@ -1,5 +1,7 @@
 package nickel.test.annotations;
 
+import nickel.test.CacheMode;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -31,6 +33,12 @@ public @interface NickelTestResource {
          * YAML (SnakeYaml) objecting binding for YAML resources
          */
         yaml,
+
+        /**
+         * Jackson v2.x object binding for JSON Lines (newline-delimited JSON) resources, read a line at a time into a
+         * {@code Stream<T>} or {@code Iterator<T>}
+         */
+        jsonLines,
     }
 
     /**
@@ -39,6 +47,13 @@ public @interface NickelTestResource {
      */
     String resourceName() default "";
 
+    /**
+     * If true, and no resource name is given, name the resource after the current test method rather than the field
+     * or method parameter. This needs an integration that knows the current test, such as
+     * {@code NickelTestExtension} or {@code NickelTestRule}.
+     */
+    boolean forTestMethod() default false;
+
     /**
      * The filename extension to use for this resource, if any. This may be provided as part of the resource name.
      * If the resource is bound via a framework (e.g. Jackson), then an extension appropriate to the file format
@@ -67,4 +82,9 @@ public @interface NickelTestResource {
      * Use an object binding framework to map from bytes to objects
      */
     Binding with() default Binding.none;
+
+    /**
+     * Cache the parsed resource across tests. See {@link nickel.test.FixtureCache}.
+     */
+    CacheMode cache() default CacheMode.none;
 }
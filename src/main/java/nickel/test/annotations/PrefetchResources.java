@@ -0,0 +1,20 @@
+package nickel.test.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Load the {@link NickelTestResource} fields of this test class in parallel, rather than one after another. All of
+ * them are loaded before the test runs, and the first failure, in field order, is reported.
+ *
+ * <p>A {@code Yaml} binding context isn't thread-safe, so YAML fields that use one are still loaded on the test
+ * thread. Use a {@code YamlFactory} to load them in parallel too.</p>
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface PrefetchResources {
+}
@@ -0,0 +1,94 @@
+package nickel.test.inject;
+
+import com.google.common.collect.ImmutableMap;
+import nickel.test.NickelTestException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The fixture index generated at compile time by {@code nickel.test.processor.FixtureIndexProcessor}: for each
+ * annotated field of a test class, the fully resolved resource path and binding. With an index, the injector skips
+ * name derivation for the indexed fields.
+ *
+ * <p>Each test class has its own index, a properties file named by {@link #indexResource(String)}, with entries
+ * <code>&lt;field&gt;.path</code> and <code>&lt;field&gt;.binding</code>.</p>
+ */
+public final class FixtureIndex {
+    /**
+     * Classpath directory holding the generated indexes
+     */
+    public static final String INDEX_DIRECTORY = "META-INF/nickel-test/";
+
+    private FixtureIndex() {
+    }
+
+    /**
+     * The index resource for a test class
+     *
+     * @param binaryName The binary name of the test class, as given by {@link Class#getName()}
+     * @return The resource path of the index, relative to the classpath root
+     */
+    public static String indexResource(String binaryName) {
+        return INDEX_DIRECTORY + binaryName + ".properties";
+    }
+
+    /**
+     * Read the index for a test class
+     *
+     * @param testClass The test class
+     * @return Index entries by field name, empty if the class has no index
+     */
+    static Map<String, Entry> forClass(Class<?> testClass) {
+        ClassLoader classLoader = (testClass.getClassLoader() == null)
+            ? ClassLoader.getSystemClassLoader()
+            : testClass.getClassLoader();
+        Properties index = new Properties();
+        try (InputStream stream = classLoader.getResourceAsStream(indexResource(testClass.getName()))) {
+            if (stream == null) {
+                return ImmutableMap.of();
+            }
+            index.load(stream);
+        } catch (IOException e) {
+            throw new NickelTestException(e);
+        }
+
+        ImmutableMap.Builder<String, Entry> entries = ImmutableMap.builder();
+        for (String key : index.stringPropertyNames()) {
+            if (key.endsWith(".path")) {
+                String fieldName = key.substring(0, key.length() - ".path".length());
+                entries.put(fieldName, new Entry(index.getProperty(key), index.getProperty(fieldName + ".binding")));
+            }
+        }
+        return entries.build();
+    }
+
+    /**
+     * A single indexed field
+     */
+    static final class Entry {
+        private final String resourcePath;
+        private final String binding;
+
+        private Entry(String resourcePath, String binding) {
+            this.resourcePath = resourcePath;
+            this.binding = binding;
+        }
+
+        /**
+         * Absolute resource path, with a leading slash
+         */
+        String resourcePath() {
+            return resourcePath;
+        }
+
+        /**
+         * Name of the binding the resource was indexed for
+         */
+        String binding() {
+            return binding;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package nickel.test.inject;
+
+import com.google.common.collect.ImmutableList;
+import nickel.test.NickelTestException;
+import nickel.test.annotations.BindingContext;
+import nickel.test.annotations.NickelTestResource;
+import nickel.test.annotations.PrefetchResources;
+import org.apache.commons.lang3.reflect.FieldUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Everything the injector needs to know about a test class, worked out once per class. JUnit creates a new test
+ * instance for every test method, so without this, each instance would repeat the same reflection scan.
+ */
+final class InjectionPlan {
+    private static final ClassValue<InjectionPlan> PLANS = new ClassValue<InjectionPlan>() {
+        @Override
+        protected InjectionPlan computeValue(Class<?> testClass) {
+            return new InjectionPlan(testClass);
+        }
+    };
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final boolean prefetch;
+    private final List<InjectionPoint> injectionPoints;
+    private final List<BindingContextField> bindingContextFields;
+    private final ConcurrentMap<Class<?>, List<BindingContextField>> bindingContextFieldsByType =
+        new ConcurrentHashMap<>();
+
+    private InjectionPlan(Class<?> testClass) {
+        prefetch = testClass.isAnnotationPresent(PrefetchResources.class);
+
+        // Index entries name resources after the declaring class, so they don't apply to inherited fields
+        Map<String, FixtureIndex.Entry> index = FixtureIndex.forClass(testClass);
+        ImmutableList.Builder<InjectionPoint> injectionPointsBuilder = ImmutableList.builder();
+        for (Field field : FieldUtils.getFieldsListWithAnnotation(testClass, NickelTestResource.class)) {
+            FixtureIndex.Entry indexEntry = (field.getDeclaringClass() == testClass)
+                ? index.get(field.getName())
+                : null;
+            injectionPointsBuilder.add(new InjectionPoint(field, indexEntry));
+        }
+        injectionPoints = injectionPointsBuilder.build();
+
+        ImmutableList.Builder<BindingContextField> bindingContextFieldsBuilder = ImmutableList.builder();
+        for (Field field : FieldUtils.getFieldsListWithAnnotation(testClass, BindingContext.class)) {
+            bindingContextFieldsBuilder.add(new BindingContextField(field));
+        }
+        bindingContextFields = bindingContextFieldsBuilder.build();
+    }
+
+    /**
+     * Get the (cached) plan for a test class
+     */
+    static InjectionPlan forClass(Class<?> testClass) {
+        return PLANS.get(testClass);
+    }
+
+    /**
+     * Whether fields are loaded in parallel. See {@link PrefetchResources}.
+     */
+    boolean prefetch() {
+        return prefetch;
+    }
+
+    /**
+     * The annotated fields of the test class, including inherited fields
+     */
+    List<InjectionPoint> injectionPoints() {
+        return injectionPoints;
+    }
+
+    /**
+     * The {@link BindingContext} fields that can hold a given type of binding context, in declaration order. The
+     * answer for each binding context type is worked out on first request.
+     *
+     * @param bindingContextClass The desired type of binding context
+     */
+    List<BindingContextField> bindingContextFields(Class<?> bindingContextClass) {
+        List<BindingContextField> matchingFields = bindingContextFieldsByType.get(bindingContextClass);
+        if (matchingFields == null) {
+            matchingFields = bindingContextFields.stream()
+                .filter(bindingContextField -> bindingContextClass.isAssignableFrom(bindingContextField.field.getType()))
+                .collect(Collectors.toList());
+            bindingContextFieldsByType.putIfAbsent(bindingContextClass, matchingFields);
+        }
+        return matchingFields;
+    }
+
+    /**
+     * A field annotated with {@link BindingContext}, with a getter to read it.
+     */
+    static final class BindingContextField {
+        private final Field field;
+        private final MethodHandle getter;
+
+        private BindingContextField(Field field) {
+            this.field = field;
+            this.getter = getter(field);
+        }
+
+        /**
+         * Read the binding context from a test instance
+         *
+         * @param testInstance The test instance (ignored for static fields)
+         * @return The field value, possibly null
+         */
+        Object get(Object testInstance) {
+            try {
+                return getter.invokeExact(testInstance);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new NickelTestException(t);
+            }
+        }
+
+        private static MethodHandle getter(Field field) {
+            try {
+                field.setAccessible(true);
+                MethodHandle getter = MethodHandles.lookup().unreflectGetter(field);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    getter = MethodHandles.dropArguments(getter, 0, Object.class);
+                }
+                return getter.asType(GETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new NickelTestException(e);
+            }
+        }
+    }
+
+    /**
+     * A single annotated field: what to load, and how to store it.
+     */
+    static final class InjectionPoint {
+        private final Field field;
+        private final ResourceSpec resourceSpec;
+        private final Type resourceType;
+        private final MethodHandle setter;
+
+        private InjectionPoint(Field field, FixtureIndex.Entry indexEntry) {
+            this.field = field;
+            this.resourceSpec = ResourceSpec.of(
+                field.getAnnotation(NickelTestResource.class),
+                field.getName(),
+                indexEntry);
+            this.resourceType = field.getGenericType();
+            this.setter = setter(field);
+        }
+
+        Field field() {
+            return field;
+        }
+
+        ResourceSpec resourceSpec() {
+            return resourceSpec;
+        }
+
+        Type resourceType() {
+            return resourceType;
+        }
+
+        /**
+         * Store a loaded resource into the field
+         *
+         * @param testInstance  The test instance (ignored for static fields)
+         * @param resourceValue The loaded resource
+         */
+        void inject(Object testInstance, Object resourceValue) {
+            try {
+                setter.invokeExact(testInstance, resourceValue);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new NickelTestException(t);
+            }
+        }
+
+        private static MethodHandle setter(Field field) {
+            try {
+                field.setAccessible(true);
+                MethodHandle setter = MethodHandles.lookup().unreflectSetter(field);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    setter = MethodHandles.dropArguments(setter, 0, Object.class);
+                }
+                return setter.asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new NickelTestException(e);
+            }
+        }
+    }
+}
@@ -1,28 +1,44 @@
 package nickel.test.inject;
 
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import nickel.test.Lazy;
 import nickel.test.NickelTestException;
-import nickel.test.annotations.BindingContext;
 import nickel.test.annotations.NickelTestResource;
 import nickel.test.jackson.JacksonTestResource;
+import nickel.test.jackson.MalformedLineHandler;
 import nickel.test.jaxb.JaxbTestResource;
 import nickel.test.strategy.ResourceNamingStrategy;
+import nickel.test.strategy.TestIdentity;
+import nickel.test.yaml.YamlFactory;
 import nickel.test.yaml.YamlTestResource;
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.reflect.FieldUtils;
 import org.apache.commons.lang3.reflect.TypeUtils;
 import org.yaml.snakeyaml.Yaml;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
 
@@ -38,21 +54,38 @@ public class NickelTestInjector implements ResourceNamingStrategy {
 
     private final Object testInstance;
     private final Class<?> testClass;
+    private final ResourceNamingStrategy testNamingStrategy;
+    private TestIdentity testIdentity;
+    private volatile Map<Class<?>, Optional<Object>> bindingContexts;
+    private final List<Closeable> openResources = new CopyOnWriteArrayList<>();
 
     /**
-     * Construct an injector for a given test instance
+     * Construct an injector for a given test instance. Resources can only be named after the test class, since the
+     * current test method is not known.
      *
      * @param testInstance The test instance to inject - may not be null
      */
     public NickelTestInjector(Object testInstance) {
+        this(testInstance, null);
+    }
+
+    /**
+     * Construct an injector for a given test instance, running a known test.
+     *
+     * @param testInstance       The test instance to inject - may not be null
+     * @param testNamingStrategy Naming strategy that identifies the current test method, used for resources named
+     *                           after the test method (see {@link NickelTestResource#forTestMethod()}). May be null.
+     */
+    public NickelTestInjector(Object testInstance, ResourceNamingStrategy testNamingStrategy) {
         this.testInstance = requireNonNull(testInstance, "testInstance");
+        this.testNamingStrategy = testNamingStrategy;
 
         testClass = testInstance.getClass();
     }
 
     @Override
     public Optional<String> testName() {
-        return Optional.empty();
+        return testIdentity().testName();
     }
 
     @Override
@@ -63,16 +96,167 @@ public class NickelTestInjector implements ResourceNamingStrategy {
     }
 
     /**
-     * Inject all the fields for the test instance
+     * The test class is always that of the test instance. The test name, if known, is resolved once and shared by
+     * every resource this injector loads.
+     */
+    @Override
+    public TestIdentity testIdentity() {
+        if (testIdentity == null) {
+            testIdentity = (testNamingStrategy == null)
+                ? new TestIdentity(testClass, Optional.empty())
+                : new TestIdentity(testClass, testNamingStrategy.testName());
+        }
+        return testIdentity;
+    }
+
+    /**
+     * Inject all the fields for the test instance. Fields declared as {@link Lazy} or {@link Supplier} are loaded
+     * when first read.
      */
     public void injectAllFields() {
-        for (Field field : FieldUtils.getFieldsListWithAnnotation(testClass, NickelTestResource.class)) {
+        bindingContexts = new ConcurrentHashMap<>();
+        try {
+            InjectionPlan injectionPlan = InjectionPlan.forClass(testClass);
+            if (injectionPlan.prefetch()) {
+                prefetchAllFields(injectionPlan.injectionPoints());
+                return;
+            }
+
+            for (InjectionPlan.InjectionPoint injectionPoint : injectionPlan.injectionPoints()) {
+                Object resourceValue = loadResource(injectionPoint.resourceSpec(), injectionPoint.resourceType());
+                injectionPoint.inject(testInstance, resourceValue);
+            }
+        } finally {
+            bindingContexts = null;
+        }
+    }
+
+    /**
+     * Close what this injector has opened for fields and parameters read as they're consumed: channels, and the
+     * {@code Stream} and {@code Iterator} fields of the {@code jackson} and {@code jsonLines} bindings.
+     * {@link nickel.test.junit5.NickelTestExtension} and {@link nickel.test.junit4.NickelTestRule} call this after
+     * each test; otherwise, closing them is up to the caller.
+     *
+     * @throws IOException If a resource fails to close. The other resources are still closed.
+     */
+    public void closeResources() throws IOException {
+        IOException failure = null;
+        for (Closeable resource : openResources) {
+            openResources.remove(resource);
+            try {
+                resource.close();
+            } catch (IOException e) {
+                failure = addFailure(failure, e);
+            } catch (UncheckedIOException e) {
+                failure = addFailure(failure, e.getCause());
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static IOException addFailure(IOException failure, IOException e) {
+        if (failure == null) {
+            return e;
+        }
+        failure.addSuppressed(e);
+        return failure;
+    }
+
+    /**
+     * Keep a resource the test reads as it goes, to be closed by {@link #closeResources()}
+     */
+    private <R extends Closeable> R opened(R resource) {
+        openResources.add(resource);
+        return resource;
+    }
+
+    private <T> Stream<T> opened(Stream<T> stream) {
+        openResources.add(stream::close);
+        return stream;
+    }
+
+    /**
+     * Load all the fields in parallel, then inject them on this thread. The test identity and binding contexts are
+     * resolved here first, so the loading threads only read them.
+     */
+    private void prefetchAllFields(List<InjectionPlan.InjectionPoint> injectionPoints) {
+        testIdentity();
+
+        List<CompletableFuture<Object>> loads = new ArrayList<>(injectionPoints.size());
+        for (InjectionPlan.InjectionPoint injectionPoint : injectionPoints) {
+            ResourceSpec resourceSpec = injectionPoint.resourceSpec();
+            Type resourceType = injectionPoint.resourceType();
+            loads.add(loadsOnTestThread(resourceSpec)
+                ? null
+                : CompletableFuture.supplyAsync(
+                    () -> loadResource(resourceSpec, resourceType),
+                    PrefetchExecutor.executor()));
+        }
+
+        for (int i = 0; i < loads.size(); i++) {
+            if (loads.get(i) == null) {
+                InjectionPlan.InjectionPoint injectionPoint = injectionPoints.get(i);
+                CompletableFuture<Object> load = new CompletableFuture<>();
+                try {
+                    load.complete(loadResource(injectionPoint.resourceSpec(), injectionPoint.resourceType()));
+                } catch (RuntimeException e) {
+                    load.completeExceptionally(e);
+                }
+                loads.set(i, load);
+            }
+        }
+
+        Object[] resourceValues = new Object[loads.size()];
+        NickelTestException failure = null;
+        for (int i = 0; i < loads.size(); i++) {
             try {
-                injectField(field);
-            } catch (IllegalAccessException e) {
-                throw new NickelTestException(e);
+                resourceValues[i] = loads.get(i).join();
+            } catch (CompletionException e) {
+                Throwable cause = (e.getCause() == null) ? e : e.getCause();
+                if (failure == null) {
+                    Field field = injectionPoints.get(i).field();
+                    failure = new NickelTestException(String.format(
+                        "Unable to load resource for field %s.%s",
+                        field.getDeclaringClass().getName(),
+                        field.getName()), cause);
+                } else {
+                    failure.addSuppressed(cause);
+                }
             }
         }
+        if (failure != null) {
+            throw failure;
+        }
+
+        for (int i = 0; i < resourceValues.length; i++) {
+            injectionPoints.get(i).inject(testInstance, resourceValues[i]);
+        }
+    }
+
+    /**
+     * Resolve the binding contexts for a resource, and decide whether it has to be loaded on the test thread: a
+     * {@link Yaml} instance can't be shared between threads.
+     */
+    private boolean loadsOnTestThread(ResourceSpec resourceSpec) {
+        switch (resourceSpec.binding()) {
+            case jackson:
+                findBindingContext(ObjectMapper.class);
+                return false;
+            case jsonLines:
+                findBindingContext(ObjectMapper.class);
+                findBindingContext(MalformedLineHandler.class);
+                return false;
+            case jaxb:
+                findBindingContext(JAXBContext.class);
+                return false;
+            case yaml:
+                findBindingContext(YamlFactory.class);
+                return findBindingContext(Yaml.class) != null;
+            default:
+                return false;
+        }
     }
 
     /**
@@ -84,72 +268,134 @@ public class NickelTestInjector implements ResourceNamingStrategy {
      * @return Fully initialized resource object
      */
     public Object loadResource(NickelTestResource nickelTestResource, Type resourceType, String name) {
+        return loadResource(ResourceSpec.of(nickelTestResource, name), resourceType);
+    }
+
+    private Object loadResource(ResourceSpec resourceSpec, Type resourceType) {
+        Class<?> rawType = TypeUtils.getRawType(resourceType, null);
+        if (rawType == Lazy.class || rawType == Supplier.class) {
+            Type lazyType = TypeUtils.getTypeArguments(resourceType, Supplier.class)
+                .get(Supplier.class.getTypeParameters()[0]);
+            if (lazyType == null || lazyType instanceof TypeVariable) {
+                throw new NickelTestException(String.format(
+                    "No resource type given for %s %s", resourceType, resourceSpec.elementName()));
+            }
+            return Lazy.of(() -> loadResource(resourceSpec, lazyType));
+        }
+
         try {
-            switch (nickelTestResource.with()) {
+            switch (resourceSpec.binding()) {
                 case none:
-                    return loadStandardResource(nickelTestResource, resourceType, name);
+                    return loadStandardResource(resourceSpec, resourceType);
                 case jackson:
-                    return loadJacksonResource(nickelTestResource, resourceType, name);
+                    return loadJacksonResource(resourceSpec, resourceType);
                 case jaxb:
-                    return loadJaxbResource(nickelTestResource, resourceType, name);
+                    return loadJaxbResource(resourceSpec, resourceType);
                 case yaml:
-                    return loadYamlResource(nickelTestResource, resourceType, name);
+                    return loadYamlResource(resourceSpec, resourceType);
+                case jsonLines:
+                    return loadJsonLinesResource(resourceSpec, resourceType);
                 default:
-                    throw new NickelTestException("Unknown binding: " + nickelTestResource.with());
+                    throw new NickelTestException("Unknown binding: " + resourceSpec.binding());
             }
-        } catch (IllegalAccessException | IOException | JAXBException | ClassNotFoundException e) {
+        } catch (IOException | JAXBException | ClassNotFoundException e) {
             throw new NickelTestException(e);
         }
     }
 
-    private void injectField(Field field) throws IllegalAccessException {
-        NickelTestResource nickelTestResource = field.getAnnotation(NickelTestResource.class);
-        Object resourceValue = loadResource(nickelTestResource, field.getGenericType(), field.getName());
-        field.setAccessible(true);
-        field.set(testInstance, resourceValue);
-    }
-
-    private Object loadYamlResource(NickelTestResource nickelTestResource, Type resourceType, String name)
-        throws IllegalAccessException, ClassNotFoundException, IOException {
+    private Object loadYamlResource(ResourceSpec resourceSpec, Type resourceType)
+        throws ClassNotFoundException, IOException {
         YamlTestResource yamlTestResource = new YamlTestResource(this)
-            .withYaml(findBindingContext(Yaml.class));
-        identifyResource(yamlTestResource, nickelTestResource, name);
+            .withYaml(findBindingContext(Yaml.class))
+            .withYamlFactory(findBindingContext(YamlFactory.class));
+        identifyResource(yamlTestResource, resourceSpec);
 
         return yamlTestResource.asYaml(((Class<?>) resourceType));
     }
 
-    private Object loadJaxbResource(NickelTestResource nickelTestResource, Type resourceType, String name)
-        throws IllegalAccessException, ClassNotFoundException, JAXBException, IOException {
+    private Object loadJaxbResource(ResourceSpec resourceSpec, Type resourceType)
+        throws ClassNotFoundException, JAXBException, IOException {
         JaxbTestResource jaxbTestResource = new JaxbTestResource(this)
             .withJaxbContext(findBindingContext(JAXBContext.class));
-        identifyResource(jaxbTestResource, nickelTestResource, name);
+        identifyResource(jaxbTestResource, resourceSpec);
 
         return jaxbTestResource.asXml(((Class<?>) resourceType));
     }
 
-    private Object loadJacksonResource(NickelTestResource nickelTestResource, Type resourceType, String name)
-        throws IllegalAccessException, ClassNotFoundException, IOException {
+    private Object loadJacksonResource(ResourceSpec resourceSpec, Type resourceType)
+        throws ClassNotFoundException, IOException {
         JacksonTestResource jacksonTestResource = new JacksonTestResource(this)
             .withMapper(findBindingContext(ObjectMapper.class));
-        identifyResource(jacksonTestResource, nickelTestResource, name);
+        identifyResource(jacksonTestResource, resourceSpec);
 
+        Class<?> rawType = TypeUtils.getRawType(resourceType, null);
+        if (rawType == Stream.class) {
+            return opened(jacksonTestResource.asJsonStream(elementType(resourceSpec, resourceType, Stream.class)));
+        } else if (rawType == Iterator.class || rawType == MappingIterator.class) {
+            return opened(jacksonTestResource.asJsonIterator(elementType(resourceSpec, resourceType, Iterator.class)));
+        }
         return jacksonTestResource.asJson(resourceType);
     }
 
-    private Object loadStandardResource(NickelTestResource nickelTestResource, Type resourceType, String name)
+    private Object loadJsonLinesResource(ResourceSpec resourceSpec, Type resourceType)
+        throws ClassNotFoundException, IOException {
+        JacksonTestResource jacksonTestResource = new JacksonTestResource(this)
+            .withMapper(findBindingContext(ObjectMapper.class))
+            .onMalformedLine(findBindingContext(MalformedLineHandler.class));
+        identifyResource(jacksonTestResource, resourceSpec);
+
+        Class<?> rawType = TypeUtils.getRawType(resourceType, null);
+        if (rawType == Stream.class) {
+            return opened(jacksonTestResource.asJsonLines(elementType(resourceSpec, resourceType, Stream.class)));
+        } else if (rawType == Iterator.class) {
+            return opened(jacksonTestResource.asJsonLines(elementType(resourceSpec, resourceType, Iterator.class)))
+                .iterator();
+        }
+        throw new IllegalArgumentException(String.format(
+            "JSON Lines resources are read as a Stream or Iterator, not %s", resourceType));
+    }
+
+    /**
+     * The element type of a {@link Stream} or {@link Iterator} field, which is read an element at a time
+     */
+    private static Type elementType(ResourceSpec resourceSpec, Type resourceType, Class<?> containerClass) {
+        Type elementType = TypeUtils.getTypeArguments(resourceType, containerClass)
+            .get(containerClass.getTypeParameters()[0]);
+        if (elementType == null || elementType instanceof TypeVariable) {
+            throw new NickelTestException(String.format(
+                "No element type given for %s %s", resourceType, resourceSpec.elementName()));
+        }
+        return elementType;
+    }
+
+    private Object loadStandardResource(ResourceSpec resourceSpec, Type resourceType)
         throws IOException {
         nickel.test.NickelTestResource<nickel.test.NickelTestResource> standardResource =
             new nickel.test.NickelTestResource<>(this);
-        identifyResource(standardResource, nickelTestResource, name);
+        identifyResource(standardResource, resourceSpec);
 
         if (TypeUtils.isAssignable(resourceType, byte[].class)) {
             return standardResource.asBytes();
         } else if (TypeUtils.isAssignable(resourceType, String.class)) {
-            return standardResource.asString(nickelTestResource.encoding());
+            return standardResource.asString(resourceSpec.encoding());
         } else if (TypeUtils.isAssignable(resourceType, Properties.class)) {
             return standardResource.asProperties();
         } else if (TypeUtils.isAssignable(resourceType, InputStream.class)) {
             return standardResource.asStream();
+        } else if (TypeUtils.isAssignable(resourceType, ByteBuffer.class)) {
+            // Read-only, whether the resource is mapped or read into a direct buffer
+            return standardResource.asMappedBuffer();
+        } else if (TypeUtils.isAssignable(resourceType, FileChannel.class)) {
+            ReadableByteChannel channel = standardResource.asChannel();
+            if (!(channel instanceof FileChannel)) {
+                channel.close();
+                throw new NickelTestException(String.format(
+                    "Resource for %s isn't in the file system, and can't be opened as a FileChannel",
+                    resourceSpec.elementName()));
+            }
+            return opened(channel);
+        } else if (TypeUtils.isAssignable(resourceType, ReadableByteChannel.class)) {
+            return opened(standardResource.asChannel());
         } else {
             throw new IllegalArgumentException(String.format(
                 "Don't know how to interpret type %s without binding", resourceType));
@@ -157,57 +403,70 @@ public class NickelTestInjector implements ResourceNamingStrategy {
     }
 
     /**
-     * Initialize the resource naming details, including any overrides that may come in from the annotation.
+     * Initialize the resource naming details, including any overrides that may come in from the annotation. A path
+     * from the compile-time {@link FixtureIndex} is used as-is.
      *
      * @param initializedResource Initialized {@link nickel.test.NickelTestResource} instance
-     * @param nickelTestResource  Resource annotation with additional naming information
-     * @param name                The name of Java entity to which the resource annotation is attached
+     * @param resourceSpec        Resource attributes with additional naming information
      */
-    private void identifyResource(
-        nickel.test.NickelTestResource<?> initializedResource,
-        NickelTestResource nickelTestResource,
-        String name) {
-        if (StringUtils.isNotBlank(nickelTestResource.resourcePath())) {
-            initializedResource.resourcePath(nickelTestResource.resourcePath());
+    private void identifyResource(nickel.test.NickelTestResource<?> initializedResource, ResourceSpec resourceSpec) {
+        initializedResource.cached(resourceSpec.cacheMode());
+        initializedResource.elementName(resourceSpec.elementName());
+
+        if (resourceSpec.indexedPath() != null) {
+            initializedResource.resolvedPath(resourceSpec.indexedPath());
+            return;
+        }
+
+        if (resourceSpec.resourcePath() != null) {
+            initializedResource.resourcePath(resourceSpec.resourcePath());
         } else {
-            initializedResource.forTestClass(nickelTestResource.includeFullPath());
+            initializedResource.forTestClass(resourceSpec.includeFullPath());
         }
 
-        if (StringUtils.isNotBlank(nickelTestResource.resourceName())) {
-            initializedResource.resourceName(nickelTestResource.resourceName());
+        if (resourceSpec.resourceName() != null) {
+            initializedResource.resourceName(resourceSpec.resourceName());
+        } else if (resourceSpec.forTestMethod()) {
+            initializedResource.resourceName(testName()
+                .orElseThrow(() -> new NickelTestException("Outside the scope of a test")));
         } else {
-            initializedResource.resourceName(name);
+            initializedResource.resourceName(resourceSpec.elementName());
         }
 
-        if (StringUtils.isNotBlank(nickelTestResource.resourceExtension())) {
-            initializedResource.resourceExtension(nickelTestResource.resourceExtension());
+        if (resourceSpec.resourceExtension() != null) {
+            initializedResource.resourceExtension(resourceSpec.resourceExtension());
         }
     }
 
     /**
-     * If there's a binding context in the test case, locate it and return it.
+     * If there's a binding context in the test case, locate it and return it. Binding context fields are found once
+     * per test class. Their values are read once per injection pass, and on every load outside of one, so a context
+     * replaced between loads is always seen.
      *
      * @param bindingContextClass The desired type of the binding context
      * @param <T>                 Type parameter for the binding context
      * @return The binding context, or null if none could be found
      */
-    private <T> T findBindingContext(Class<T> bindingContextClass) throws IllegalAccessException {
-        if (testInstance != null) {
-            List<Field> bindingContextFields = FieldUtils.getFieldsListWithAnnotation(
-                testInstance.getClass(), BindingContext.class);
-
-            if (CollectionUtils.isNotEmpty(bindingContextFields)) {
-                for (Field bindingContextField : bindingContextFields) {
-                    if (bindingContextClass.isAssignableFrom(bindingContextField.getType())) {
-                        bindingContextField.setAccessible(true);
-
-                        //noinspection unchecked
-                        T context = (T) bindingContextField.get(testInstance);
-                        if (context != null) {
-                            return context;
-                        }
-                    }
-                }
+    private <T> T findBindingContext(Class<T> bindingContextClass) {
+        Map<Class<?>, Optional<Object>> bindingContexts = this.bindingContexts;
+        if (bindingContexts == null) {
+            return bindingContextClass.cast(readBindingContext(bindingContextClass));
+        }
+
+        Optional<Object> context = bindingContexts.get(bindingContextClass);
+        if (context == null) {
+            context = Optional.ofNullable(readBindingContext(bindingContextClass));
+            bindingContexts.put(bindingContextClass, context);
+        }
+        return bindingContextClass.cast(context.orElse(null));
+    }
+
+    private Object readBindingContext(Class<?> bindingContextClass) {
+        for (InjectionPlan.BindingContextField bindingContextField
+            : InjectionPlan.forClass(testClass).bindingContextFields(bindingContextClass)) {
+            Object context = bindingContextField.get(testInstance);
+            if (context != null) {
+                return context;
             }
         }
 
@@ -0,0 +1,41 @@
+package nickel.test.inject;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs resource loads for {@link nickel.test.annotations.PrefetchResources} test classes: a fixed number of daemon
+ * threads, shared by every test, which time out when idle. On Java 21 and later, this is replaced by a version that
+ * uses virtual threads.
+ */
+final class PrefetchExecutor {
+    private static final int THREADS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    private static final ThreadPoolExecutor EXECUTOR = newExecutor();
+
+    private PrefetchExecutor() {
+    }
+
+    static Executor executor() {
+        return EXECUTOR;
+    }
+
+    private static ThreadPoolExecutor newExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            THREADS,
+            THREADS,
+            30,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat("nickel-test-prefetch-%d")
+                .setDaemon(true)
+                .build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
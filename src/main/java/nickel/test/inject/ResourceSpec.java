@@ -0,0 +1,108 @@
+package nickel.test.inject;
+
+import nickel.test.CacheMode;
+import nickel.test.annotations.NickelTestResource;
+import nickel.test.annotations.NickelTestResource.Binding;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The attributes of a {@link NickelTestResource} annotation, read once and normalized. Blank attributes are held as
+ * null, so the injector doesn't need to re-read or re-check the annotation for every load.
+ */
+final class ResourceSpec {
+    private final String elementName;
+    private final String resourceName;
+    private final String resourceExtension;
+    private final String resourcePath;
+    private final String encoding;
+    private final boolean includeFullPath;
+    private final boolean forTestMethod;
+    private final Binding binding;
+    private final CacheMode cacheMode;
+    private final String indexedPath;
+
+    private ResourceSpec(NickelTestResource nickelTestResource, String elementName, FixtureIndex.Entry indexEntry) {
+        this.elementName = elementName;
+        this.resourceName = StringUtils.trimToNull(nickelTestResource.resourceName());
+        this.resourceExtension = StringUtils.trimToNull(nickelTestResource.resourceExtension());
+        this.resourcePath = StringUtils.trimToNull(nickelTestResource.resourcePath());
+        this.encoding = nickelTestResource.encoding();
+        this.includeFullPath = nickelTestResource.includeFullPath();
+        this.forTestMethod = nickelTestResource.forTestMethod();
+        this.binding = nickelTestResource.with();
+        this.cacheMode = nickelTestResource.cache();
+        this.indexedPath = (indexEntry != null && !forTestMethod && binding.name().equals(indexEntry.binding()))
+            ? indexEntry.resourcePath()
+            : null;
+    }
+
+    /**
+     * @param nickelTestResource The resource annotation
+     * @param elementName        Name of the Java entity to which the annotation is attached (e.g. field, parameter)
+     */
+    static ResourceSpec of(NickelTestResource nickelTestResource, String elementName) {
+        return new ResourceSpec(nickelTestResource, elementName, null);
+    }
+
+    /**
+     * @param nickelTestResource The resource annotation
+     * @param elementName        Name of the Java entity to which the annotation is attached (e.g. field, parameter)
+     * @param indexEntry         The entry for the element in the compile-time {@link FixtureIndex}, or null. An entry
+     *                           for a different binding is out of date, and ignored.
+     */
+    static ResourceSpec of(NickelTestResource nickelTestResource, String elementName, FixtureIndex.Entry indexEntry) {
+        return new ResourceSpec(nickelTestResource, elementName, indexEntry);
+    }
+
+    String elementName() {
+        return elementName;
+    }
+
+    /**
+     * Explicit resource name, or null
+     */
+    String resourceName() {
+        return resourceName;
+    }
+
+    /**
+     * Explicit resource extension, or null
+     */
+    String resourceExtension() {
+        return resourceExtension;
+    }
+
+    /**
+     * Explicit resource path, or null
+     */
+    String resourcePath() {
+        return resourcePath;
+    }
+
+    String encoding() {
+        return encoding;
+    }
+
+    boolean includeFullPath() {
+        return includeFullPath;
+    }
+
+    boolean forTestMethod() {
+        return forTestMethod;
+    }
+
+    Binding binding() {
+        return binding;
+    }
+
+    CacheMode cacheMode() {
+        return cacheMode;
+    }
+
+    /**
+     * Resource path from the {@link FixtureIndex}, or null if the path must be derived
+     */
+    String indexedPath() {
+        return indexedPath;
+    }
+}
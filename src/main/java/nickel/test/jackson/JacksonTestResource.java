@@ -1,40 +1,54 @@
 package nickel.test.jackson;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import nickel.test.NickelTestResource;
 import nickel.test.strategy.ResourceNamingStrategy;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import static nickel.test.strategy.StackBasedNamingStrategy.stackBasedStrategy;
+import static nickel.test.strategy.CurrentNamingStrategy.currentStrategy;
 
 /**
  * JSON test resource, to be parsed using Jackson.
  *
- * <p>If no {@link ObjectMapper} is supplied, then a default instance will be used.</p>
+ * <p>If no {@link ObjectMapper} is supplied, then a default instance will be used. The default mapper is shared
+ * by every resource in the JVM, and its readers are cached per target type. Readers for a supplied mapper aren't
+ * cached, so the mapper can be collected once the test is done with it.</p>
  */
 public class JacksonTestResource extends NickelTestResource<JacksonTestResource> {
     /**
      * Acquire an instance.
      */
     public static JacksonTestResource jacksonTestResource() throws ClassNotFoundException {
-        return new JacksonTestResource(stackBasedStrategy());
+        return new JacksonTestResource(currentStrategy());
     }
 
     private ObjectMapper mapper;
+    private MalformedLineHandler malformedLineHandler = MalformedLineHandler.fail();
 
     public JacksonTestResource(ResourceNamingStrategy namingStrategy) throws ClassNotFoundException {
         super(namingStrategy);
-        mapper = new ObjectMapper();
     }
 
     /**
      * Use the user-specified {@link ObjectMapper} instead of the default.
      *
+     * <p>Readers derived from the mapper are cached, so finish configuring the mapper before its first use.</p>
+     *
      * @param mapper The {@link ObjectMapper} instance to use
      */
     public JacksonTestResource withMapper(ObjectMapper mapper) {
@@ -42,6 +56,19 @@ public class JacksonTestResource extends NickelTestResource<JacksonTestResource>
         return this;
     }
 
+    /**
+     * Decide what happens to malformed lines in a JSON Lines resource, read by {@link #asJsonLines(Class)}. By default,
+     * reading stops with an exception naming the line.
+     *
+     * @param malformedLineHandler The handler to use, or null for the default
+     */
+    public JacksonTestResource onMalformedLine(MalformedLineHandler malformedLineHandler) {
+        this.malformedLineHandler = (malformedLineHandler == null)
+            ? MalformedLineHandler.fail()
+            : malformedLineHandler;
+        return this;
+    }
+
     /**
      * Use the {@link ObjectMapper} to render the test resource into an object.
      *
@@ -52,11 +79,7 @@ public class JacksonTestResource extends NickelTestResource<JacksonTestResource>
      * @return Instantiated version of the object
      */
     public <T> T asJson(Class<T> targetClass) throws IOException {
-        defaultResourceExtension(".json");
-        try (InputStream stream = resolveStream()) {
-            return mapper().readerFor(targetClass)
-                .readValue(stream);
-        }
+        return readJson(targetClass);
     }
 
     /**
@@ -69,11 +92,7 @@ public class JacksonTestResource extends NickelTestResource<JacksonTestResource>
      * @return Instantiated version of the object
      */
     public <T> T asJson(TypeReference<T> targetType) throws IOException {
-        defaultResourceExtension(".json");
-        try (InputStream stream = resolveStream()) {
-            return mapper().readerFor(targetType)
-                .readValue(stream);
-        }
+        return readJson(targetType.getType());
     }
 
     /**
@@ -86,17 +105,180 @@ public class JacksonTestResource extends NickelTestResource<JacksonTestResource>
      * @return Instantiated version of the object
      */
     public <T> T asJson(Type targetType) throws IOException {
+        return readJson(targetType);
+    }
+
+    /**
+     * Iterate over the elements of a JSON array, binding each one as it's read, so memory use doesn't grow with the
+     * size of the resource. A resource holding a sequence of JSON values, rather than an array, is iterated value by
+     * value.
+     *
+     * <p>The resource is read directly, never through the fixture cache. Close the iterator if it isn't read to the
+     * end.</p>
+     *
+     * <p>If no <code>resourceExtension</code> has been supplied, this will supply a default of <code>.json</code>.</p>
+     *
+     * @param elementClass What kind of object to create for each element
+     * @param <T>          Element type
+     * @return A lazy iterator over the elements
+     */
+    public <T> MappingIterator<T> asJsonIterator(Class<T> elementClass) throws IOException {
+        return iterateJson(elementClass);
+    }
+
+    /**
+     * Iterate over the elements of a JSON array, as {@link #asJsonIterator(Class)}
+     *
+     * @param elementType What kind of object to create for each element
+     * @param <T>         Element type
+     * @return A lazy iterator over the elements
+     */
+    public <T> MappingIterator<T> asJsonIterator(TypeReference<T> elementType) throws IOException {
+        return iterateJson(elementType.getType());
+    }
+
+    /**
+     * Iterate over the elements of a JSON array, as {@link #asJsonIterator(Class)}
+     *
+     * @param elementType What kind of object to create for each element
+     * @param <T>         Element type
+     * @return A lazy iterator over the elements
+     */
+    public <T> MappingIterator<T> asJsonIterator(Type elementType) throws IOException {
+        return iterateJson(elementType);
+    }
+
+    /**
+     * Stream the elements of a JSON array, binding each one as it's read, as {@link #asJsonIterator(Class)}. Close
+     * the stream, e.g. with try-with-resources, to close the resource.
+     *
+     * @param elementClass What kind of object to create for each element
+     * @param <T>          Element type
+     * @return A lazy, sequential stream of the elements
+     */
+    public <T> Stream<T> asJsonStream(Class<T> elementClass) throws IOException {
+        return closeableStream(iterateJson(elementClass));
+    }
+
+    /**
+     * Stream the elements of a JSON array, as {@link #asJsonStream(Class)}
+     *
+     * @param elementType What kind of object to create for each element
+     * @param <T>         Element type
+     * @return A lazy, sequential stream of the elements
+     */
+    public <T> Stream<T> asJsonStream(TypeReference<T> elementType) throws IOException {
+        return closeableStream(iterateJson(elementType.getType()));
+    }
+
+    /**
+     * Stream the elements of a JSON array, as {@link #asJsonStream(Class)}
+     *
+     * @param elementType What kind of object to create for each element
+     * @param <T>         Element type
+     * @return A lazy, sequential stream of the elements
+     */
+    public <T> Stream<T> asJsonStream(Type elementType) throws IOException {
+        return closeableStream(iterateJson(elementType));
+    }
+
+    /**
+     * Stream the records of a JSON Lines (newline-delimited JSON) resource, one record per line. Lines are read and
+     * bound as the stream is consumed, with the same reader, so memory use doesn't grow with the size of the resource.
+     * Blank lines are skipped, and malformed lines, including lines with anything after the first value, are passed to
+     * the {@link #onMalformedLine(MalformedLineHandler) handler}.
+     *
+     * <p>The resource is read directly, never through the fixture cache. Close the stream, e.g. with
+     * try-with-resources, if it isn't read to the end.</p>
+     *
+     * <p>If no <code>resourceExtension</code> has been supplied, this will supply a default of <code>.ndjson</code>,
+     * or <code>.jsonl</code> if only that resource exists.</p>
+     *
+     * @param recordClass What kind of object to create for each line
+     * @param <T>         Record type
+     * @return A lazy, sequential stream of the records
+     */
+    public <T> Stream<T> asJsonLines(Class<T> recordClass) throws IOException {
+        return readJsonLines(recordClass);
+    }
+
+    /**
+     * Stream the records of a JSON Lines resource, as {@link #asJsonLines(Class)}
+     *
+     * @param recordType What kind of object to create for each line
+     * @param <T>        Record type
+     * @return A lazy, sequential stream of the records
+     */
+    public <T> Stream<T> asJsonLines(TypeReference<T> recordType) throws IOException {
+        return readJsonLines(recordType.getType());
+    }
+
+    /**
+     * Stream the records of a JSON Lines resource, as {@link #asJsonLines(Class)}
+     *
+     * @param recordType What kind of object to create for each line
+     * @param <T>        Record type
+     * @return A lazy, sequential stream of the records
+     */
+    public <T> Stream<T> asJsonLines(Type recordType) throws IOException {
+        return readJsonLines(recordType);
+    }
+
+    /**
+     * Cached copies are made by parsing the resource again, from content retained in the cache.
+     */
+    private <T> T readJson(Type targetType) throws IOException {
         defaultResourceExtension(".json");
-        try (InputStream stream = resolveStream()) {
-            JavaType javaType = mapper().constructType(targetType);
-            return mapper().readerFor(javaType)
-                .readValue(stream);
+        ObjectMapper mapper = mapper();
+        ObjectReader reader = ObjectReaders.readerFor(mapper, targetType);
+        return parseResource("jackson", targetType, mapper,
+            reader::<T>readValue,
+            null);
+    }
+
+    private <T> MappingIterator<T> iterateJson(Type elementType) throws IOException {
+        defaultResourceExtension(".json");
+        ObjectReader reader = ObjectReaders.readerFor(mapper(), elementType);
+        InputStream stream = openStream("jackson-iterator", elementType);
+        try {
+            return reader.readValues(stream);
+        } catch (IOException | RuntimeException e) {
+            stream.close();
+            throw e;
         }
     }
 
+    private <T> Stream<T> readJsonLines(Type recordType) throws IOException {
+        defaultResourceExtension(".ndjson", ".jsonl");
+        ObjectReader reader = ObjectReaders.readerFor(mapper(), recordType)
+            .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        BufferedReader lines = new BufferedReader(new InputStreamReader(
+            openStream("json-lines", recordType),
+            StandardCharsets.UTF_8));
+        JsonLinesSpliterator<T> spliterator = new JsonLinesSpliterator<>(lines, reader, malformedLineHandler);
+        return StreamSupport.stream(spliterator, false)
+            .onClose(spliterator::close);
+    }
+
+    /**
+     * A stream over the iterator, which closes the iterator when it's closed
+     */
+    private static <T> Stream<T> closeableStream(MappingIterator<T> iterator) {
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED),
+            false)
+            .onClose(() -> {
+                try {
+                    iterator.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+
     private ObjectMapper mapper() {
         return (mapper == null)
-            ? new ObjectMapper()
+            ? ObjectReaders.DEFAULT_MAPPER
             : mapper;
     }
 }
@@ -0,0 +1,76 @@
+package nickel.test.jackson;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Reads a JSON Lines resource a line at a time, binding each line with the same reader. Blank lines are skipped, and
+ * the resource is closed once the last line is read.
+ *
+ * @param <T> The record type
+ */
+final class JsonLinesSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+    private final BufferedReader lines;
+    private final ObjectReader reader;
+    private final MalformedLineHandler malformedLineHandler;
+    private long lineNumber;
+    private boolean closed;
+
+    JsonLinesSpliterator(BufferedReader lines, ObjectReader reader, MalformedLineHandler malformedLineHandler) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED);
+        this.lines = lines;
+        this.reader = reader;
+        this.malformedLineHandler = malformedLineHandler;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (closed) {
+            return false;
+        }
+
+        try {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (StringUtils.isBlank(line)) {
+                    continue;
+                }
+
+                T value;
+                try {
+                    value = reader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    malformedLineHandler.malformedLine(lineNumber, line, e);
+                    continue;
+                }
+                action.accept(value);
+                return true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        close();
+        return false;
+    }
+
+    void close() {
+        if (!closed) {
+            closed = true;
+            try {
+                lines.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
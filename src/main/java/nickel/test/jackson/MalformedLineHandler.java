@@ -0,0 +1,37 @@
+package nickel.test.jackson;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import nickel.test.NickelTestException;
+
+/**
+ * Decides what happens to a line of a JSON Lines resource that can't be parsed or bound. Return to skip the line, or
+ * throw to stop reading.
+ */
+@FunctionalInterface
+public interface MalformedLineHandler {
+    /**
+     * @param lineNumber The line number, starting from 1
+     * @param line       The line's content
+     * @param cause      Why it couldn't be read
+     */
+    void malformedLine(long lineNumber, String line, JsonProcessingException cause);
+
+    /**
+     * Stop reading with a {@link NickelTestException} naming the line. This is the default.
+     */
+    static MalformedLineHandler fail() {
+        return (lineNumber, line, cause) -> {
+            throw new NickelTestException(
+                String.format("Malformed JSON on line %d: %s", lineNumber, cause.getOriginalMessage()),
+                cause);
+        };
+    }
+
+    /**
+     * Skip malformed lines
+     */
+    static MalformedLineHandler skip() {
+        return (lineNumber, line, cause) -> {
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package nickel.test.jackson;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of {@link ObjectReader} instances for the default mapper, per target type. A reader holds on to its root
+ * deserializer, so deserializer introspection for a bean type happens once rather than once per fixture.
+ *
+ * <p>Readers for other mappers aren't cached: a reader refers back to its mapper, so caching it would keep the mapper,
+ * and its deserializer caches, alive for the life of the JVM. Those mappers keep their own root deserializer caches.
+ * Since {@link JavaType} is itself a {@link Type}, readers for a class, a generic type and a {@link JavaType} all
+ * live in the same table.</p>
+ */
+final class ObjectReaders {
+    /**
+     * The mapper used when none is supplied
+     */
+    static final ObjectMapper DEFAULT_MAPPER = new ObjectMapper();
+
+    private static final ConcurrentMap<Type, ObjectReader> DEFAULT_READERS = new ConcurrentHashMap<>();
+
+    private ObjectReaders() {
+    }
+
+    /**
+     * Get a reader for the given mapper and target type
+     *
+     * @param mapper     The mapper that provides configuration and deserializers
+     * @param targetType The type to bind to
+     * @return A reader, shared if the mapper is the {@link #DEFAULT_MAPPER}
+     */
+    static ObjectReader readerFor(ObjectMapper mapper, Type targetType) {
+        if (mapper != DEFAULT_MAPPER) {
+            return mapper.readerFor(mapper.constructType(targetType));
+        }
+
+        ObjectReader reader = DEFAULT_READERS.get(targetType);
+        if (reader == null) {
+            reader = mapper.readerFor(mapper.constructType(targetType));
+
+            ObjectReader existingReader = DEFAULT_READERS.putIfAbsent(targetType, reader);
+            if (existingReader != null) {
+                reader = existingReader;
+            }
+        }
+        return reader;
+    }
+}
@@ -0,0 +1,141 @@
+package nickel.test.jaxb;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.transform.Source;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/**
+ * Caches for the expensive parts of JAXB: a {@link JAXBContext} per bound class, and a pool of {@link Unmarshaller}s
+ * per context.
+ *
+ * <p>Contexts, and their pools, are attached to the bound class through a {@link ClassValue}, so they go away with
+ * the class (and its class loader). Unmarshallers are not thread-safe, so each one is borrowed for a single load, and
+ * returned to a small pool shared by every thread. Pools don't belong to threads, so loads on short-lived (e.g.
+ * virtual) threads reuse unmarshallers as well.</p>
+ *
+ * <p>Contexts supplied by the caller aren't pooled: a pooled unmarshaller refers back to its context, so a pool would
+ * keep the context alive for the life of the JVM. Each load with one creates its own unmarshaller.</p>
+ */
+final class JaxbContexts {
+    /**
+     * Idle unmarshallers kept per context: enough for every prefetch load to reuse one
+     */
+    private static final int IDLE_UNMARSHALLERS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    private static final ClassValue<BoundContext> CONTEXTS = new ClassValue<BoundContext>() {
+        @Override
+        protected BoundContext computeValue(Class<?> boundType) {
+            try {
+                return new BoundContext(JAXBContext.newInstance(boundType));
+            } catch (JAXBException e) {
+                throw new ContextCreationException(e);
+            }
+        }
+    };
+
+    private JaxbContexts() {
+    }
+
+    /**
+     * Get the shared context for a bound class, creating it on first use. A failure to create the context is not
+     * cached.
+     *
+     * @param boundType The class to bind
+     * @return The context for the class
+     */
+    static JAXBContext contextFor(Class<?> boundType) throws JAXBException {
+        return boundContext(boundType).context;
+    }
+
+    /**
+     * Unmarshal a source with a pooled unmarshaller from the shared context for the target class.
+     *
+     * @param source      The XML to unmarshal
+     * @param targetClass The class to bind the root element to
+     * @param <T>         Target type
+     * @return The unmarshalled value
+     */
+    static <T> T unmarshal(Source source, Class<T> targetClass) throws JAXBException {
+        Unmarshaller unmarshaller = borrowUnmarshaller(targetClass);
+        try {
+            return unmarshaller.unmarshal(source, targetClass).getValue();
+        } finally {
+            returnUnmarshaller(targetClass, unmarshaller);
+        }
+    }
+
+    /**
+     * Unmarshal a source with a new unmarshaller from a context supplied by the caller.
+     *
+     * @param context     The JAXB context
+     * @param source      The XML to unmarshal
+     * @param targetClass The class to bind the root element to
+     * @param <T>         Target type
+     * @return The unmarshalled value
+     */
+    static <T> T unmarshal(JAXBContext context, Source source, Class<T> targetClass) throws JAXBException {
+        return context.createUnmarshaller().unmarshal(source, targetClass).getValue();
+    }
+
+    /**
+     * Take an idle unmarshaller from the pool of the shared context for a bound class, or create one. Only the caller
+     * uses it, until it's returned with {@link #returnUnmarshaller(Class, Unmarshaller)}.
+     *
+     * @param boundType The class the context binds
+     * @return An unmarshaller for the caller's exclusive use
+     */
+    static Unmarshaller borrowUnmarshaller(Class<?> boundType) throws JAXBException {
+        BoundContext boundContext = boundContext(boundType);
+        Unmarshaller unmarshaller = boundContext.idleUnmarshallers.pollFirst();
+        return (unmarshaller == null)
+            ? boundContext.context.createUnmarshaller()
+            : unmarshaller;
+    }
+
+    /**
+     * Return a borrowed unmarshaller to the pool. If the pool is full, the unmarshaller is dropped.
+     *
+     * @param boundType    The class the unmarshaller was borrowed for
+     * @param unmarshaller The unmarshaller, which the caller no longer uses
+     */
+    static void returnUnmarshaller(Class<?> boundType, Unmarshaller unmarshaller) {
+        CONTEXTS.get(boundType).idleUnmarshallers.offerFirst(unmarshaller);
+    }
+
+    private static BoundContext boundContext(Class<?> boundType) throws JAXBException {
+        try {
+            return CONTEXTS.get(boundType);
+        } catch (ContextCreationException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * The shared context for a bound class, and its idle unmarshallers, most recently returned first
+     */
+    private static final class BoundContext {
+        private final JAXBContext context;
+        private final BlockingDeque<Unmarshaller> idleUnmarshallers = new LinkedBlockingDeque<>(IDLE_UNMARSHALLERS);
+
+        private BoundContext(JAXBContext context) {
+            this.context = context;
+        }
+    }
+
+    /**
+     * Carries a {@link JAXBException} out of {@link ClassValue#computeValue(Class)}.
+     */
+    private static final class ContextCreationException extends RuntimeException {
+        ContextCreationException(JAXBException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized JAXBException getCause() {
+            return (JAXBException) super.getCause();
+        }
+    }
+}
@@ -7,16 +7,15 @@ import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.transform.stream.StreamSource;
 import java.io.IOException;
-import java.io.InputStream;
 
-import static nickel.test.strategy.StackBasedNamingStrategy.stackBasedStrategy;
+import static nickel.test.strategy.CurrentNamingStrategy.currentStrategy;
 
 /**
  * JAXB Test resource for resources in XML
  */
 public class JaxbTestResource extends NickelTestResource<JaxbTestResource> {
     public static JaxbTestResource jaxbTestResource() throws ClassNotFoundException {
-        return new JaxbTestResource(stackBasedStrategy());
+        return new JaxbTestResource(currentStrategy());
     }
 
     private JAXBContext context;
@@ -38,24 +37,22 @@ public class JaxbTestResource extends NickelTestResource<JaxbTestResource> {
     /**
      * Initialize a {@link JAXBContext} and use it to parse the test resource.
      *
+     * <p>If no context was provided, the context for the target class is created once and shared, and its
+     * unmarshallers are pooled. A provided context creates an unmarshaller per load, so it isn't kept alive once the
+     * test is done with it. Cached copies are made by parsing the resource again, from content retained in the
+     * cache.</p>
+     *
      * @param targetClass The kind of object to return (binding type)
      * @param <T>         Target type
      * @return Object instance of the target type
      */
     public <T> T asXml(Class<T> targetClass) throws JAXBException, IOException {
         defaultResourceExtension(".xml");
-        try (InputStream stream = resolveStream()) {
-            StreamSource streamSource = new StreamSource(stream);
-            return context(targetClass)
-                .createUnmarshaller()
-                .unmarshal(streamSource, targetClass)
-                .getValue();
-        }
-    }
-
-    private JAXBContext context(Class<?> boundType) throws JAXBException {
-        return (context == null)
-            ? JAXBContext.newInstance(boundType)
-            : context;
+        JAXBContext context = this.context;
+        return parseResource("jaxb", targetClass, context,
+            stream -> (context == null)
+                ? JaxbContexts.unmarshal(new StreamSource(stream), targetClass)
+                : JaxbContexts.unmarshal(context, new StreamSource(stream), targetClass),
+            null);
     }
 }
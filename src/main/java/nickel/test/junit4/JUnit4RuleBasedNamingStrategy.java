@@ -2,6 +2,7 @@ package nickel.test.junit4;
 
 import com.google.common.collect.ImmutableList;
 import nickel.test.strategy.ResourceNamingStrategy;
+import nickel.test.strategy.TestIdentity;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -15,6 +16,10 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * Naming strategy that uses the test description provided to a rule
+ *
+ * <p>Runners such as {@code Parameterized} decorate the method name in the description (e.g. {@code test[0]}), so the
+ * test name is the method name the description starts with. The test class is the description's test class, so an
+ * inherited test finds the resources of the concrete class being run.</p>
  */
 public class JUnit4RuleBasedNamingStrategy implements ResourceNamingStrategy {
     static List<Class<? extends Annotation>> JUNIT4_METHOD_ANNOTATIONS = ImmutableList.of(
@@ -23,6 +28,7 @@ public class JUnit4RuleBasedNamingStrategy implements ResourceNamingStrategy {
         BeforeClass.class);
 
     private final Description description;
+    private volatile TestIdentity testIdentity;
 
     JUnit4RuleBasedNamingStrategy(Description description) {
         this.description = requireNonNull(description, "description");
@@ -30,13 +36,40 @@ public class JUnit4RuleBasedNamingStrategy implements ResourceNamingStrategy {
 
     @Override
     public Optional<String> testName() {
-        return Optional.of(description.getMethodName());
+        return testIdentity().testName();
     }
 
     @Override
     public String suiteName(boolean fullyQualified) {
-        return fullyQualified
-            ? description.getTestClass().getName()
-            : description.getTestClass().getSimpleName();
+        return testIdentity().suiteName(fullyQualified);
+    }
+
+    /**
+     * The test identity is worked out from the description once, when first needed.
+     */
+    @Override
+    public TestIdentity testIdentity() {
+        TestIdentity identity = testIdentity;
+        if (identity == null) {
+            Optional<String> testName = Optional.ofNullable(description.getMethodName())
+                .map(JUnit4RuleBasedNamingStrategy::methodName);
+            identity = new TestIdentity(description.getTestClass(), testName);
+            testIdentity = identity;
+        }
+        return identity;
+    }
+
+    /**
+     * The method name at the start of a description's method name, without any decoration added by the runner
+     */
+    private static String methodName(String descriptionMethodName) {
+        int end = 0;
+        while (end < descriptionMethodName.length()
+            && Character.isJavaIdentifierPart(descriptionMethodName.charAt(end))) {
+            end++;
+        }
+        return (end == 0)
+            ? descriptionMethodName
+            : descriptionMethodName.substring(0, end);
     }
 }
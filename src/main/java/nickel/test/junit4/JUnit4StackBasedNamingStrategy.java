@@ -1,16 +1,13 @@
 package nickel.test.junit4;
 
-import nickel.test.NickelTestException;
 import nickel.test.strategy.StackBasedNamingStrategy;
-import nickel.test.strategy.StackSearchStrategy;
-import org.apache.commons.lang3.tuple.Pair;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Method;
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
 import static java.util.Collections.singletonList;
 import static nickel.test.junit4.JUnit4RuleBasedNamingStrategy.JUNIT4_METHOD_ANNOTATIONS;
@@ -20,24 +17,15 @@ import static nickel.test.junit4.JUnit4RuleBasedNamingStrategy.JUNIT4_METHOD_ANN
  * {@link BeforeClass} in order to determine the identity of the current test.
  */
 public class JUnit4StackBasedNamingStrategy extends StackBasedNamingStrategy {
+    private static final List<Class<? extends Annotation>> JUNIT4_TEST_ANNOTATIONS = singletonList(Test.class);
+
     @Override
-    public Optional<String> testName() {
-        Optional<Pair<Method, Annotation>> testMethod = StackSearchStrategy.locateAnnotatedMethod(singletonList(Test.class));
-        return testMethod
-            .map(Pair::getLeft)
-            .map(Method::getName);
+    protected Collection<Class<? extends Annotation>> testAnnotations() {
+        return JUNIT4_TEST_ANNOTATIONS;
     }
 
     @Override
-    public String suiteName(boolean fullyQualified) {
-        Optional<Pair<Method, Annotation>> ancestorMethod = StackSearchStrategy.locateAnnotatedMethod(JUNIT4_METHOD_ANNOTATIONS);
-
-        Class<?> ancestorClass = ancestorMethod
-            .orElseThrow(() -> new NickelTestException("Unable to locate a method with @Test, @Before, or @BeforeClass"))
-            .getLeft()
-            .getDeclaringClass();
-        return fullyQualified
-            ? ancestorClass.getName()
-            : ancestorClass.getSimpleName();
+    protected Collection<Class<? extends Annotation>> ancestorAnnotations() {
+        return JUNIT4_METHOD_ANNOTATIONS;
     }
 }
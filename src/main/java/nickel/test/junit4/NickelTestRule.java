@@ -4,57 +4,126 @@ import nickel.test.NickelTestResource;
 import nickel.test.inject.NickelTestInjector;
 import nickel.test.jackson.JacksonTestResource;
 import nickel.test.jaxb.JaxbTestResource;
+import nickel.test.strategy.CurrentNamingStrategy;
+import nickel.test.strategy.ResourceNamingStrategy;
 import nickel.test.yaml.YamlTestResource;
 import org.junit.rules.TestRule;
 import org.junit.runner.Description;
+import org.junit.runners.model.MultipleFailureException;
 import org.junit.runners.model.Statement;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static nickel.test.strategy.CurrentNamingStrategy.currentStrategy;
+
 /**
  * Provide nickel-test functionality as a test rule
+ *
+ * <p>The current test is tracked per thread, for as long as the test (including its {@code @Before} and
+ * {@code @After} methods) runs, so one rule instance can serve tests running concurrently. While a test runs, the
+ * static entry points ({@code testResource()} and friends) also name resources after it. Called from any other
+ * thread, the rule falls back to the same strategy as the static entry points.</p>
+ *
+ * <p>Channels, streams and iterators injected by {@link #injectResources(Object)} while a test runs are closed when it
+ * finishes.</p>
  */
 public class NickelTestRule implements TestRule {
-    private Description description;
+    private final ThreadLocal<ResourceNamingStrategy> namingStrategy = new ThreadLocal<>();
+    private final ThreadLocal<List<NickelTestInjector>> injectors = new ThreadLocal<>();
 
     @Override
-    public Statement apply(final Statement base, Description description) {
-        this.description = description;
-        return base;
+    public Statement apply(final Statement base, final Description description) {
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                ResourceNamingStrategy testStrategy = new JUnit4RuleBasedNamingStrategy(description);
+                ResourceNamingStrategy previousStrategy = namingStrategy.get();
+                List<NickelTestInjector> previousInjectors = injectors.get();
+                List<NickelTestInjector> testInjectors = new ArrayList<>();
+                namingStrategy.set(testStrategy);
+                injectors.set(testInjectors);
+                List<Throwable> errors = new ArrayList<>();
+                try (CurrentNamingStrategy.Binding ignored = CurrentNamingStrategy.bind(testStrategy)) {
+                    base.evaluate();
+                } catch (Throwable e) {
+                    errors.add(e);
+                } finally {
+                    restore(namingStrategy, previousStrategy);
+                    restore(injectors, previousInjectors);
+                }
+                for (NickelTestInjector injector : testInjectors) {
+                    try {
+                        injector.closeResources();
+                    } catch (IOException e) {
+                        errors.add(e);
+                    }
+                }
+                MultipleFailureException.assertEmpty(errors);
+            }
+        };
+    }
+
+    private static <T> void restore(ThreadLocal<T> threadLocal, T previous) {
+        if (previous == null) {
+            threadLocal.remove();
+        } else {
+            threadLocal.set(previous);
+        }
+    }
+
+    /**
+     * The naming strategy for the test running on this thread
+     */
+    ResourceNamingStrategy namingStrategy() {
+        ResourceNamingStrategy testStrategy = namingStrategy.get();
+        return (testStrategy == null)
+            ? currentStrategy()
+            : testStrategy;
     }
 
     /**
-     * Convenience method, provided for discoverability. Calls {@link NickelTestInjector#injectAllFields(Object)}
+     * Convenience method, provided for discoverability. Injects the test instance with a {@link NickelTestInjector}
+     * that knows the current test method. Called while a test runs, injected channels, streams and iterators
+     * are closed when it finishes.
      *
      * @param testInstance The test case instance to inject
      */
     public void injectResources(Object testInstance) {
-        NickelTestInjector.injectAllFields(testInstance);
+        NickelTestInjector injector = new NickelTestInjector(testInstance, namingStrategy());
+        List<NickelTestInjector> testInjectors = injectors.get();
+        if (testInjectors != null) {
+            testInjectors.add(injector);
+        }
+        injector.injectAllFields();
     }
 
     /**
      * Return a "generic" test resource that can translate types built in to Java
      */
     NickelTestResource<NickelTestResource> testResource() throws ClassNotFoundException {
-        return new NickelTestResource<>(new JUnit4RuleBasedNamingStrategy(description));
+        return new NickelTestResource<>(namingStrategy());
     }
 
     /**
      * JSON test resource built using the Jackson library
      */
     JacksonTestResource jacksonTestResource() throws ClassNotFoundException {
-        return new JacksonTestResource(new JUnit4RuleBasedNamingStrategy(description));
+        return new JacksonTestResource(namingStrategy());
     }
 
     /**
      * XML test resource bound using JAXB
      */
     JaxbTestResource jaxbTestResource() throws ClassNotFoundException {
-        return new JaxbTestResource(new JUnit4RuleBasedNamingStrategy(description));
+        return new JaxbTestResource(namingStrategy());
     }
 
     /**
      * YAML test resource, bound using the SnakeYAML library
      */
     YamlTestResource yamlTestResource() throws ClassNotFoundException {
-        return new YamlTestResource(new JUnit4RuleBasedNamingStrategy(description));
+        return new YamlTestResource(namingStrategy());
     }
 }
@@ -0,0 +1,48 @@
+package nickel.test.junit5;
+
+import nickel.test.strategy.ResourceNamingStrategy;
+import nickel.test.strategy.TestIdentity;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Naming strategy that uses the {@link ExtensionContext} provided to an extension. The test class and test method
+ * come straight from JUnit, so no stack inspection is needed.
+ *
+ * <p>As with the stack-based strategies, the test class is the class declaring the test method, so an inherited test
+ * finds the resources of the class it was written in.</p>
+ */
+public class JUnit5ExtensionNamingStrategy implements ResourceNamingStrategy {
+    private final TestIdentity testIdentity;
+
+    /**
+     * @param extensionContext The extension context for a test class or test method
+     */
+    public JUnit5ExtensionNamingStrategy(ExtensionContext extensionContext) {
+        requireNonNull(extensionContext, "extensionContext");
+
+        Optional<Method> testMethod = extensionContext.getTestMethod();
+        testIdentity = new TestIdentity(
+            testMethod.<Class<?>>map(Method::getDeclaringClass).orElseGet(extensionContext::getRequiredTestClass),
+            testMethod.map(Method::getName));
+    }
+
+    @Override
+    public Optional<String> testName() {
+        return testIdentity.testName();
+    }
+
+    @Override
+    public String suiteName(boolean fullyQualified) {
+        return testIdentity.suiteName(fullyQualified);
+    }
+
+    @Override
+    public TestIdentity testIdentity() {
+        return testIdentity;
+    }
+}
@@ -2,6 +2,10 @@ package nickel.test.junit5;
 
 import nickel.test.annotations.NickelTestResource;
 import nickel.test.inject.NickelTestInjector;
+import nickel.test.strategy.CurrentNamingStrategy;
+import nickel.test.strategy.ResourceNamingStrategy;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
 import org.junit.jupiter.api.extension.Extension;
 import org.junit.jupiter.api.extension.ExtensionContext;
@@ -9,18 +13,70 @@ import org.junit.jupiter.api.extension.ParameterContext;
 import org.junit.jupiter.api.extension.ParameterResolutionException;
 import org.junit.jupiter.api.extension.ParameterResolver;
 
+import java.io.IOException;
 import java.lang.reflect.Parameter;
 
 /**
  * Test extension that allows for injection of annotated fields in the test class, or on individual test methods.
+ *
+ * <p>From before the {@code @BeforeEach} methods until after the {@code @AfterEach} methods, the extension binds a
+ * {@link JUnit5ExtensionNamingStrategy} to the test thread, so the static entry points (e.g.
+ * {@link nickel.test.NickelTestResource#testResource()}) resolve names without searching the stack. Channels, streams
+ * and iterators injected into fields or parameters are closed after the {@code @AfterEach} methods.</p>
+ *
+ * <p>The extension itself is stateless: per-test state lives in the test's {@link ExtensionContext} and on the test
+ * thread, so it supports parallel test execution.</p>
  */
-public class NickelTestExtension implements Extension, BeforeTestExecutionCallback, ParameterResolver {
+public class NickelTestExtension
+    implements Extension, BeforeEachCallback, BeforeTestExecutionCallback, AfterEachCallback, ParameterResolver {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(NickelTestExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext extensionContext) {
+        ResourceNamingStrategy namingStrategy = new JUnit5ExtensionNamingStrategy(extensionContext);
+        ExtensionContext.Store store = extensionContext.getStore(NAMESPACE);
+        store.put(ResourceNamingStrategy.class, namingStrategy);
+        store.put(CurrentNamingStrategy.Binding.class, CurrentNamingStrategy.bind(namingStrategy));
+    }
+
     @Override
     public void beforeTestExecution(ExtensionContext extensionContext) {
+        injector(extensionContext).injectAllFields();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext extensionContext) throws IOException {
+        ExtensionContext.Store store = extensionContext.getStore(NAMESPACE);
+        CurrentNamingStrategy.Binding binding =
+            store.remove(CurrentNamingStrategy.Binding.class, CurrentNamingStrategy.Binding.class);
+        try {
+            NickelTestInjector injector = store.remove(NickelTestInjector.class, NickelTestInjector.class);
+            if (injector != null) {
+                injector.closeResources();
+            }
+        } finally {
+            if (binding != null) {
+                binding.close();
+            }
+        }
+    }
+
+    /**
+     * The injector for the current test, shared by its fields and parameters so it can close what they opened
+     */
+    private static NickelTestInjector injector(ExtensionContext extensionContext) {
         Object testInstance = extensionContext.getTestInstance()
             .orElseThrow(() -> new IllegalStateException("No test instance"));
-        NickelTestInjector injector = new NickelTestInjector(testInstance);
-        injector.injectAllFields();
+
+        ExtensionContext.Store store = extensionContext.getStore(NAMESPACE);
+        ResourceNamingStrategy namingStrategy = store.getOrComputeIfAbsent(
+            ResourceNamingStrategy.class,
+            key -> new JUnit5ExtensionNamingStrategy(extensionContext),
+            ResourceNamingStrategy.class);
+        return store.getOrComputeIfAbsent(
+            NickelTestInjector.class,
+            key -> new NickelTestInjector(testInstance, namingStrategy),
+            NickelTestInjector.class);
     }
 
     @Override
@@ -37,11 +93,7 @@ public class NickelTestExtension implements Extension, BeforeTestExecutionCallba
                 "Unable to locate @NickelTestResource annotation for %s",
                 parameterContext.getParameter().getName())));
 
-        Object testInstance = extensionContext.getTestInstance()
-            .orElseThrow(() -> new IllegalStateException("No test instance"));
-        NickelTestInjector injector = new NickelTestInjector(testInstance);
-
         Parameter parameter = parameterContext.getParameter();
-        return injector.loadResource(nickelTestResource, parameter.getParameterizedType(), parameter.getName());
+        return injector(extensionContext).loadResource(nickelTestResource, parameter.getParameterizedType(), parameter.getName());
     }
 }
@@ -0,0 +1,100 @@
+package nickel.test.metrics;
+
+import nickel.test.strategy.TestIdentity;
+
+import java.lang.reflect.Type;
+
+/**
+ * A Java Flight Recorder event for one step of a resource load, started when it's created.
+ *
+ * <p>On Java 8 events are never recorded, and every method does nothing. On Java 11 and later, the multi-release jar
+ * replaces this class with one that commits {@code jdk.jfr} events, named {@code nickel.test.*}, while they're enabled
+ * in a recording.</p>
+ */
+public final class FlightRecorderEvent {
+    private static final FlightRecorderEvent DISABLED = new FlightRecorderEvent();
+
+    private FlightRecorderEvent() {
+    }
+
+    /**
+     * Whether stream reads or binding parses are being recorded. While they are, the reads of a resource stream are
+     * timed apart from its parse.
+     */
+    public static boolean recordingLoads() {
+        return false;
+    }
+
+    /**
+     * Start timing the resolution of the test class and name
+     *
+     * @param strategy The naming strategy doing the resolution
+     */
+    public static FlightRecorderEvent namingResolution(Class<?> strategy) {
+        return DISABLED;
+    }
+
+    /**
+     * Start timing a class path lookup
+     *
+     * @param path The absolute resource path
+     */
+    public static FlightRecorderEvent classpathLookup(String path) {
+        return DISABLED;
+    }
+
+    /**
+     * Start timing a read of the resource stream
+     *
+     * @param path The absolute resource path
+     */
+    public static FlightRecorderEvent streamRead(String path) {
+        return DISABLED;
+    }
+
+    /**
+     * Start timing a parse of the resource content
+     *
+     * @param path       The absolute resource path
+     * @param binding    The binding, e.g. {@code jackson}
+     * @param targetType The type the resource is parsed into
+     */
+    public static FlightRecorderEvent bindingParse(String path, String binding, Type targetType) {
+        return DISABLED;
+    }
+
+    /**
+     * @param identity    The test the resource is loaded for
+     * @param elementName The field or parameter the resource is loaded for, or null
+     */
+    public FlightRecorderEvent test(TestIdentity identity, String elementName) {
+        return this;
+    }
+
+    /**
+     * @param bytes The number of bytes read or parsed
+     */
+    public FlightRecorderEvent bytes(long bytes) {
+        return this;
+    }
+
+    /**
+     * @param readNanos The time a binding parse spent waiting on the resource stream, in nanoseconds
+     */
+    public FlightRecorderEvent readTime(long readNanos) {
+        return this;
+    }
+
+    /**
+     * @param found Whether a class path lookup found the resource
+     */
+    public FlightRecorderEvent found(boolean found) {
+        return this;
+    }
+
+    /**
+     * Stop timing, and record the event if it's enabled and over its threshold
+     */
+    public void commit() {
+    }
+}
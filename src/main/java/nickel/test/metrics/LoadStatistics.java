@@ -0,0 +1,82 @@
+package nickel.test.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Totals and timing histograms for a group of resource loads
+ */
+public final class LoadStatistics {
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final NanosHistogram resolveNanos = new NanosHistogram();
+    private final NanosHistogram readNanos = new NanosHistogram();
+    private final NanosHistogram parseNanos = new NanosHistogram();
+    private final NanosHistogram totalNanos = new NanosHistogram();
+
+    void record(ResourceLoadEvent event) {
+        loads.increment();
+        if (event.bytesRead() > 0) {
+            bytesRead.add(event.bytesRead());
+        }
+        if (event.cacheOutcome() == ResourceLoadEvent.CacheOutcome.hit) {
+            cacheHits.increment();
+        } else if (event.cacheOutcome() == ResourceLoadEvent.CacheOutcome.miss) {
+            cacheMisses.increment();
+        }
+        resolveNanos.record(event.resolveNanos());
+        readNanos.record(event.readNanos());
+        parseNanos.record(event.parseNanos());
+        totalNanos.record(event.totalNanos());
+    }
+
+    void reset() {
+        loads.reset();
+        bytesRead.reset();
+        cacheHits.reset();
+        cacheMisses.reset();
+        resolveNanos.reset();
+        readNanos.reset();
+        parseNanos.reset();
+        totalNanos.reset();
+    }
+
+    public long loads() {
+        return loads.sum();
+    }
+
+    public long bytesRead() {
+        return bytesRead.sum();
+    }
+
+    public long cacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long cacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public NanosHistogram resolveNanos() {
+        return resolveNanos;
+    }
+
+    public NanosHistogram readNanos() {
+        return readNanos;
+    }
+
+    public NanosHistogram parseNanos() {
+        return parseNanos;
+    }
+
+    public NanosHistogram totalNanos() {
+        return totalNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("loads=%d, bytes=%d, cache hits=%d, cache misses=%d, total: %s",
+            loads(), bytesRead(), cacheHits(), cacheMisses(), totalNanos);
+    }
+}
@@ -0,0 +1,224 @@
+package nickel.test.metrics;
+
+import java.lang.reflect.Type;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * One load of a test resource, and what it cost.
+ *
+ * <p>Times are split into resolving the resource (finding and opening it), reading its bytes, and parsing them.
+ * While listeners are registered, reads are timed as the parser pulls bytes from the resource, and the parse time is
+ * what's left over, so resources are still streamed. Only cached fixtures that keep their source are read in full
+ * before they're parsed.</p>
+ */
+public final class ResourceLoadEvent {
+    /**
+     * How the load used the {@link nickel.test.FixtureCache}
+     */
+    public enum CacheOutcome {
+        /**
+         * Caching wasn't requested
+         */
+        uncached,
+
+        /**
+         * Served from the cache: nothing was resolved or read, and the parse time is the time taken to copy
+         */
+        hit,
+
+        /**
+         * Loaded, then cached
+         */
+        miss,
+    }
+
+    private final Class<?> testClass;
+    private final String testName;
+    private final String elementName;
+    private final String resourcePath;
+    private final String binding;
+    private final Type targetType;
+    private final long bytesRead;
+    private final long resolveNanos;
+    private final long readNanos;
+    private final long parseNanos;
+    private final CacheOutcome cacheOutcome;
+
+    private ResourceLoadEvent(Builder builder) {
+        this.testClass = requireNonNull(builder.testClass, "testClass");
+        this.testName = builder.testName;
+        this.elementName = builder.elementName;
+        this.resourcePath = requireNonNull(builder.resourcePath, "resourcePath");
+        this.binding = requireNonNull(builder.binding, "binding");
+        this.targetType = requireNonNull(builder.targetType, "targetType");
+        this.bytesRead = builder.bytesRead;
+        this.resolveNanos = builder.resolveNanos;
+        this.readNanos = builder.readNanos;
+        this.parseNanos = builder.parseNanos;
+        this.cacheOutcome = requireNonNull(builder.cacheOutcome, "cacheOutcome");
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The test class the resource was loaded for
+     */
+    public Class<?> testClass() {
+        return testClass;
+    }
+
+    /**
+     * The test method the resource was loaded for, if known
+     */
+    public Optional<String> testName() {
+        return Optional.ofNullable(testName);
+    }
+
+    /**
+     * The field or parameter the resource was injected into, if it was injected
+     */
+    public Optional<String> elementName() {
+        return Optional.ofNullable(elementName);
+    }
+
+    /**
+     * The resolved, absolute, resource path, without a leading slash
+     */
+    public String resourcePath() {
+        return resourcePath;
+    }
+
+    /**
+     * How the resource was parsed, e.g. {@code jackson} or {@code properties}
+     */
+    public String binding() {
+        return binding;
+    }
+
+    /**
+     * The type the resource was parsed into
+     */
+    public Type targetType() {
+        return targetType;
+    }
+
+    /**
+     * Bytes read from the resource, or -1 if the resource was handed over as a stream, and read by the caller
+     */
+    public long bytesRead() {
+        return bytesRead;
+    }
+
+    public long resolveNanos() {
+        return resolveNanos;
+    }
+
+    public long readNanos() {
+        return readNanos;
+    }
+
+    public long parseNanos() {
+        return parseNanos;
+    }
+
+    /**
+     * Resolve, read and parse time, together
+     */
+    public long totalNanos() {
+        return resolveNanos + readNanos + parseNanos;
+    }
+
+    public CacheOutcome cacheOutcome() {
+        return cacheOutcome;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s as %s (%s): %d bytes, resolve %dns, read %dns, parse %dns, cache %s",
+            resourcePath, binding, targetType.getTypeName(), bytesRead, resolveNanos, readNanos, parseNanos,
+            cacheOutcome);
+    }
+
+    /**
+     * Builds {@link ResourceLoadEvent}s
+     */
+    public static final class Builder {
+        private Class<?> testClass;
+        private String testName;
+        private String elementName;
+        private String resourcePath;
+        private String binding;
+        private Type targetType;
+        private long bytesRead;
+        private long resolveNanos;
+        private long readNanos;
+        private long parseNanos;
+        private CacheOutcome cacheOutcome = CacheOutcome.uncached;
+
+        private Builder() {
+        }
+
+        public Builder testClass(Class<?> testClass) {
+            this.testClass = testClass;
+            return this;
+        }
+
+        public Builder testName(String testName) {
+            this.testName = testName;
+            return this;
+        }
+
+        public Builder elementName(String elementName) {
+            this.elementName = elementName;
+            return this;
+        }
+
+        public Builder resourcePath(String resourcePath) {
+            this.resourcePath = resourcePath;
+            return this;
+        }
+
+        public Builder binding(String binding) {
+            this.binding = binding;
+            return this;
+        }
+
+        public Builder targetType(Type targetType) {
+            this.targetType = targetType;
+            return this;
+        }
+
+        public Builder bytesRead(long bytesRead) {
+            this.bytesRead = bytesRead;
+            return this;
+        }
+
+        public Builder resolveNanos(long resolveNanos) {
+            this.resolveNanos = resolveNanos;
+            return this;
+        }
+
+        public Builder readNanos(long readNanos) {
+            this.readNanos = readNanos;
+            return this;
+        }
+
+        public Builder parseNanos(long parseNanos) {
+            this.parseNanos = parseNanos;
+            return this;
+        }
+
+        public Builder cacheOutcome(CacheOutcome cacheOutcome) {
+            this.cacheOutcome = cacheOutcome;
+            return this;
+        }
+
+        public ResourceLoadEvent build() {
+            return new ResourceLoadEvent(this);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package nickel.test.metrics;
+
+/**
+ * Told about every test resource loaded through NickelTest.
+ *
+ * <p>Register listeners with {@link ResourceLoadListeners#register(ResourceLoadListener)}, or list them in
+ * {@code META-INF/services/nickel.test.metrics.ResourceLoadListener} to have them registered on first use. Listeners
+ * are called on the thread that loaded the resource, so they must be thread-safe, and quick. An exception thrown by a
+ * listener is logged, and doesn't fail the load or stop the other listeners being called.</p>
+ */
+@FunctionalInterface
+public interface ResourceLoadListener {
+    /**
+     * A resource was loaded
+     *
+     * @param event What was loaded, and what it cost
+     */
+    void resourceLoaded(ResourceLoadEvent event);
+}
@@ -0,0 +1,78 @@
+package nickel.test.metrics;
+
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The registered {@link ResourceLoadListener}s.
+ *
+ * <p>With no listeners registered, loads aren't timed and no events are created, so a load costs one volatile read
+ * more than it would without metrics.</p>
+ */
+public final class ResourceLoadListeners {
+    private static final Logger LOGGER = Logger.getLogger(ResourceLoadListeners.class.getName());
+    private static final List<ResourceLoadListener> LISTENERS = new CopyOnWriteArrayList<>();
+    private static volatile boolean enabled;
+
+    static {
+        for (ResourceLoadListener listener :
+            ServiceLoader.load(ResourceLoadListener.class, ResourceLoadListeners.class.getClassLoader())) {
+            LISTENERS.add(listener);
+        }
+        enabled = !LISTENERS.isEmpty();
+    }
+
+    private ResourceLoadListeners() {
+    }
+
+    /**
+     * Register a listener. Registering the same listener twice has no effect.
+     *
+     * @param listener The listener to register
+     */
+    public static synchronized void register(ResourceLoadListener listener) {
+        requireNonNull(listener, "listener");
+        if (!LISTENERS.contains(listener)) {
+            LISTENERS.add(listener);
+        }
+        enabled = true;
+    }
+
+    /**
+     * Unregister a listener
+     *
+     * @param listener The listener to unregister
+     */
+    public static synchronized void unregister(ResourceLoadListener listener) {
+        LISTENERS.remove(listener);
+        enabled = !LISTENERS.isEmpty();
+    }
+
+    /**
+     * Whether any listener is registered, and loads should be measured
+     */
+    public static boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * Tell every listener about a load. A listener that throws is logged and skipped, so it can't fail the load or
+     * keep the event from the other listeners.
+     *
+     * @param event The load
+     */
+    public static void resourceLoaded(ResourceLoadEvent event) {
+        for (ResourceLoadListener listener : LISTENERS) {
+            try {
+                listener.resourceLoaded(event);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, e, () -> "Resource load listener " + listener + " failed");
+            }
+        }
+    }
+}
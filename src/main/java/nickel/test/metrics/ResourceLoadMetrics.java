@@ -0,0 +1,55 @@
+package nickel.test.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An in-memory {@link ResourceLoadListener}, aggregating loads overall and by binding.
+ *
+ * <pre>
+ * ResourceLoadMetrics metrics = new ResourceLoadMetrics();
+ * ResourceLoadListeners.register(metrics);
+ * ...
+ * System.out.println(metrics.byBinding().get("jackson").parseNanos().percentileNanos(99));
+ * </pre>
+ */
+public class ResourceLoadMetrics implements ResourceLoadListener {
+    private final LoadStatistics overall = new LoadStatistics();
+    private final ConcurrentMap<String, LoadStatistics> byBinding = new ConcurrentHashMap<>();
+
+    @Override
+    public void resourceLoaded(ResourceLoadEvent event) {
+        overall.record(event);
+        byBinding.computeIfAbsent(event.binding(), binding -> new LoadStatistics())
+            .record(event);
+    }
+
+    /**
+     * Statistics for every load
+     */
+    public LoadStatistics overall() {
+        return overall;
+    }
+
+    /**
+     * Statistics for each binding, e.g. {@code jackson} or {@code bytes}
+     */
+    public Map<String, LoadStatistics> byBinding() {
+        return Collections.unmodifiableMap(byBinding);
+    }
+
+    /**
+     * Forget everything recorded so far
+     */
+    public void reset() {
+        overall.reset();
+        byBinding.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceLoadMetrics{" + overall + "}";
+    }
+}
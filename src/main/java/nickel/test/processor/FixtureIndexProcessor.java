@@ -0,0 +1,403 @@
+package nickel.test.processor;
+
+import nickel.test.inject.FixtureIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Compile-time companion to {@code @NickelTestResource}. For every annotated field and parameter, this works out the
+ * resource the injector would load, and reports it if it doesn't exist. For each test class with annotated fields, it
+ * also writes a {@link FixtureIndex}, which the injector uses instead of deriving resource names.
+ *
+ * <p>Resources are looked for in the class output directory (where Maven copies test resources before compiling
+ * tests), then in the directories named by the {@value #RESOURCE_DIRS_OPTION} option.</p>
+ *
+ * <p>Some resources can only be named at run time, and are neither checked nor indexed: fields named after the test
+ * method, and fields of abstract classes whose path is derived from the (concrete) test class. Resources are only
+ * checked for classes that declare test methods: the injector names resources after the class of the test instance,
+ * so the fields of a helper base class are looked for under each subclass instead.</p>
+ *
+ * <p>Options:</p>
+ * <ul>
+ *     <li>{@value #MISSING_FIXTURES_OPTION}: <code>error</code>, <code>warning</code> or <code>ignore</code>. The
+ *     default is <code>error</code> when resource directories are given, and <code>warning</code> otherwise, since
+ *     build tools that don't copy resources into the class output (such as Gradle) would fail every check.</li>
+ *     <li>{@value #RESOURCE_DIRS_OPTION}: resource directories, separated by the platform path separator</li>
+ * </ul>
+ */
+@SupportedAnnotationTypes(FixtureIndexProcessor.NICKEL_TEST_RESOURCE)
+@SupportedOptions({FixtureIndexProcessor.MISSING_FIXTURES_OPTION, FixtureIndexProcessor.RESOURCE_DIRS_OPTION})
+public class FixtureIndexProcessor extends AbstractProcessor {
+    public static final String MISSING_FIXTURES_OPTION = "nickel.test.missingFixtures";
+    public static final String RESOURCE_DIRS_OPTION = "nickel.test.resourceDirs";
+
+    static final String NICKEL_TEST_RESOURCE = "nickel.test.annotations.NickelTestResource";
+
+    private static final String JUNIT4_TEST = "org.junit.Test";
+    private static final String JUNIT5_TESTABLE = "org.junit.platform.commons.annotation.Testable";
+
+    private Diagnostic.Kind missingFixtureKind;
+    private List<Path> resourceDirs;
+    private final Set<String> indexedClasses = new HashSet<>();
+    private final Map<TypeElement, Boolean> declaresTests = new HashMap<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+
+        String dirs = processingEnv.getOptions().get(RESOURCE_DIRS_OPTION);
+        resourceDirs = new ArrayList<>();
+        if (dirs != null) {
+            for (String dir : dirs.split(File.pathSeparator)) {
+                if (!dir.trim().isEmpty()) {
+                    resourceDirs.add(Paths.get(dir.trim()));
+                }
+            }
+        }
+
+        String missingFixtures = processingEnv.getOptions().getOrDefault(
+            MISSING_FIXTURES_OPTION,
+            resourceDirs.isEmpty() ? "warning" : "error");
+        switch (missingFixtures) {
+            case "error":
+                missingFixtureKind = Diagnostic.Kind.ERROR;
+                break;
+            case "warning":
+                missingFixtureKind = Diagnostic.Kind.WARNING;
+                break;
+            case "ignore":
+                missingFixtureKind = null;
+                break;
+            default:
+                throw new IllegalArgumentException(String.format(
+                    "Unknown %s value: %s", MISSING_FIXTURES_OPTION, missingFixtures));
+        }
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement annotationType = processingEnv.getElementUtils().getTypeElement(NICKEL_TEST_RESOURCE);
+        if (annotationType == null) {
+            return false;
+        }
+
+        Map<TypeElement, Map<String, String>> indexes = new LinkedHashMap<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(annotationType)) {
+            AnnotationMirror annotation = annotationMirror(element, annotationType);
+            if (element.getKind() == ElementKind.FIELD) {
+                TypeElement testClass = (TypeElement) element.getEnclosingElement();
+                ResolvedResource resource = resolve(testClass, element, annotation, null);
+                if (resource != null) {
+                    checkExists(testClass, resource, element, annotation);
+
+                    Map<String, String> index = indexes.computeIfAbsent(testClass, type -> new TreeMap<>());
+                    String fieldName = element.getSimpleName().toString();
+                    index.put(fieldName + ".path", "/" + resource.absolutePath);
+                    index.put(fieldName + ".binding", resource.binding);
+                }
+            } else if (element.getKind() == ElementKind.PARAMETER) {
+                ExecutableElement method = (ExecutableElement) element.getEnclosingElement();
+                TypeElement testClass = (TypeElement) method.getEnclosingElement();
+                ResolvedResource resource = resolve(testClass, element, annotation, method);
+                if (resource != null) {
+                    checkExists(testClass, resource, element, annotation);
+                }
+            }
+        }
+
+        for (Map.Entry<TypeElement, Map<String, String>> index : indexes.entrySet()) {
+            writeIndex(index.getKey(), index.getValue());
+        }
+        return false;
+    }
+
+    /**
+     * Work out the resource path, the same way the injector does at run time.
+     *
+     * @param testClass  The class the resource is named after
+     * @param element    The annotated field or parameter
+     * @param annotation The annotation
+     * @param method     For parameters, the annotated method, otherwise null
+     * @return The resource, or null if it can only be named at run time
+     */
+    private ResolvedResource resolve(
+        TypeElement testClass,
+        Element element,
+        AnnotationMirror annotation,
+        ExecutableElement method
+    ) {
+        Map<String, Object> values = annotationValues(annotation);
+        String resourcePath = trimToNull((String) values.get("resourcePath"));
+        String resourceName = trimToNull((String) values.get("resourceName"));
+        String resourceExtension = trimToNull((String) values.get("resourceExtension"));
+        boolean forTestMethod = (Boolean) values.get("forTestMethod");
+        boolean includeFullPath = (Boolean) values.get("includeFullPath");
+        String binding = values.get("with").toString();
+
+        if (resourceName == null && forTestMethod) {
+            if (method == null) {
+                return null;
+            }
+            resourceName = method.getSimpleName().toString();
+        } else if (resourceName == null) {
+            resourceName = element.getSimpleName().toString();
+        }
+
+        if (resourcePath == null) {
+            if (testClass.getModifiers().contains(Modifier.ABSTRACT)) {
+                return null;
+            }
+            String suiteName = includeFullPath
+                ? processingEnv.getElementUtils().getBinaryName(testClass).toString()
+                : testClass.getSimpleName().toString();
+            resourcePath = "/" + suiteName.replace('.', '/');
+        }
+
+        boolean extensionDefaulted = (resourceExtension == null);
+        if (extensionDefaulted) {
+            resourceExtension = defaultExtension(binding, lazyResourceType(element.asType()));
+        }
+
+        String absolutePath = absolutePath(testClass, resourcePath, resourceName + resourceExtension);
+        // JSON Lines resources may also be named .jsonl
+        if (extensionDefaulted && binding.equals("jsonLines") && !resourceExists(absolutePath)) {
+            String alternativePath = absolutePath(testClass, resourcePath, resourceName + ".jsonl");
+            if (resourceExists(alternativePath)) {
+                absolutePath = alternativePath;
+            }
+        }
+        return new ResolvedResource(absolutePath, binding);
+    }
+
+    private String absolutePath(TypeElement testClass, String resourcePath, String resourceName) {
+        String fullPath = resourcePath + "/" + resourceName;
+        if (fullPath.startsWith("/")) {
+            return fullPath.substring(1);
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(testClass).getQualifiedName().toString();
+        return packageName.isEmpty()
+            ? fullPath
+            : packageName.replace('.', '/') + "/" + fullPath;
+    }
+
+    /**
+     * For {@code Lazy<T>} and {@code Supplier<T>}, the type argument decides how the resource is loaded
+     */
+    private static TypeMirror lazyResourceType(TypeMirror resourceType) {
+        if (resourceType.getKind() == TypeKind.DECLARED) {
+            DeclaredType declaredType = (DeclaredType) resourceType;
+            String typeName = ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+            if ((typeName.equals("nickel.test.Lazy") || typeName.equals("java.util.function.Supplier"))
+                && declaredType.getTypeArguments().size() == 1) {
+                return declaredType.getTypeArguments().get(0);
+            }
+        }
+        return resourceType;
+    }
+
+    private String defaultExtension(String binding, TypeMirror resourceType) {
+        switch (binding) {
+            case "jackson":
+                return ".json";
+            case "jsonLines":
+                return ".ndjson";
+            case "jaxb":
+                return ".xml";
+            case "yaml":
+                return ".yaml";
+            default:
+                TypeElement properties = processingEnv.getElementUtils().getTypeElement("java.util.Properties");
+                return processingEnv.getTypeUtils().isAssignable(resourceType, properties.asType())
+                    ? ".properties"
+                    : "";
+        }
+    }
+
+    private void checkExists(
+        TypeElement testClass,
+        ResolvedResource resource,
+        Element element,
+        AnnotationMirror annotation
+    ) {
+        if (missingFixtureKind != null && declaresTests(testClass) && !resourceExists(resource.absolutePath)) {
+            processingEnv.getMessager().printMessage(
+                missingFixtureKind,
+                "Test resource not found: /" + resource.absolutePath,
+                element,
+                annotation);
+        }
+    }
+
+    /**
+     * Whether a class declares JUnit 4 or JUnit 5 test methods, so it's run as a test class in its own right
+     */
+    private boolean declaresTests(TypeElement testClass) {
+        return declaresTests.computeIfAbsent(testClass, type -> {
+            for (Element member : type.getEnclosedElements()) {
+                if (member.getKind() != ElementKind.METHOD) {
+                    continue;
+                }
+                for (AnnotationMirror annotation : member.getAnnotationMirrors()) {
+                    TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+                    if (annotationType.getQualifiedName().contentEquals(JUNIT4_TEST)
+                        || isAnnotatedWith(annotationType, JUNIT5_TESTABLE)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        });
+    }
+
+    private static boolean isAnnotatedWith(TypeElement annotationType, String metaAnnotation) {
+        for (AnnotationMirror annotation : annotationType.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) annotation.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(metaAnnotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean resourceExists(String absolutePath) {
+        try {
+            FileObject resource = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", absolutePath);
+            try (InputStream ignored = resource.openInputStream()) {
+                return true;
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // Not in the class output, try the resource directories
+        }
+
+        for (Path resourceDir : resourceDirs) {
+            if (Files.isRegularFile(resourceDir.resolve(absolutePath))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeIndex(TypeElement testClass, Map<String, String> entries) {
+        String binaryName = processingEnv.getElementUtils().getBinaryName(testClass).toString();
+        if (!indexedClasses.add(binaryName)) {
+            return;
+        }
+
+        try {
+            FileObject index = processingEnv.getFiler().createResource(
+                StandardLocation.CLASS_OUTPUT, "", FixtureIndex.indexResource(binaryName), testClass);
+            try (OutputStream stream = index.openOutputStream()) {
+                stream.write(propertiesContent(entries));
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.WARNING,
+                "Unable to write fixture index: " + e.getMessage(),
+                testClass);
+        }
+    }
+
+    /**
+     * Properties file content in a stable order, without the timestamp {@link Properties#store} adds
+     */
+    private static byte[] propertiesContent(Map<String, String> entries) throws IOException {
+        StringBuilder content = new StringBuilder("# Generated by ")
+            .append(FixtureIndexProcessor.class.getName())
+            .append('\n');
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            Properties single = new Properties();
+            single.setProperty(entry.getKey(), entry.getValue());
+
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            single.store(buffer, null);
+            for (String line : new String(buffer.toByteArray(), StandardCharsets.ISO_8859_1).split("\\R")) {
+                if (!line.startsWith("#") && !line.isEmpty()) {
+                    content.append(line).append('\n');
+                }
+            }
+        }
+        return content.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static AnnotationMirror annotationMirror(Element element, TypeElement annotationType) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (annotation.getAnnotationType().asElement().equals(annotationType)) {
+                return annotation;
+            }
+        }
+        throw new IllegalStateException("Missing annotation on " + element);
+    }
+
+    private Map<String, Object> annotationValues(AnnotationMirror annotation) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value
+            : processingEnv.getElementUtils().getElementValuesWithDefaults(annotation).entrySet()) {
+            Object attribute = value.getValue().getValue();
+            values.put(
+                value.getKey().getSimpleName().toString(),
+                (attribute instanceof VariableElement)
+                    ? ((VariableElement) attribute).getSimpleName().toString()
+                    : attribute);
+        }
+        return values;
+    }
+
+    private static String trimToNull(String value) {
+        return (value == null || value.trim().isEmpty())
+            ? null
+            : value.trim();
+    }
+
+    private static final class ResolvedResource {
+        private final String absolutePath;
+        private final String binding;
+
+        private ResolvedResource(String absolutePath, String binding) {
+            this.absolutePath = absolutePath;
+            this.binding = binding;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package nickel.test.report;
+
+import nickel.test.NickelTestException;
+import nickel.test.metrics.ResourceLoadEvent;
+import nickel.test.metrics.ResourceLoadListener;
+import nickel.test.metrics.ResourceLoadListeners;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Aggregates resource loads per test class and resource path, and writes a report of the slowest fixtures.
+ *
+ * <p>Fixtures whose slowest single load exceeds the load budget, or whose loads in one test class add up to more than
+ * the fixture budget, are flagged as over budget. A zero budget disables that check.</p>
+ *
+ * <p>The report files are named after the process, e.g. {@code nickel-test-fixtures-1234.json}, so test forks sharing
+ * a report directory don't overwrite each other's reports.</p>
+ *
+ * <p>Most builds attach a report through {@link FixtureReportExecutionListener} or {@link FixtureReportRunListener},
+ * which share one report per JVM, configured with these system properties:</p>
+ *
+ * <ul>
+ *     <li>{@code nickel.test.report} - {@code true} to enable the JUnit Platform listener</li>
+ *     <li>{@code nickel.test.report.directory} - where to write the report, {@code target} by default</li>
+ *     <li>{@code nickel.test.report.loadBudgetMillis} - budget for a single load, 50 by default</li>
+ *     <li>{@code nickel.test.report.fixtureBudgetMillis} - budget for every load of a fixture in one test class, 250
+ *     by default</li>
+ * </ul>
+ */
+public class FixtureReport implements ResourceLoadListener {
+    public static final String ENABLED_PROPERTY = "nickel.test.report";
+    public static final String DIRECTORY_PROPERTY = "nickel.test.report.directory";
+    public static final String LOAD_BUDGET_PROPERTY = "nickel.test.report.loadBudgetMillis";
+    public static final String FIXTURE_BUDGET_PROPERTY = "nickel.test.report.fixtureBudgetMillis";
+
+    static final String REPORT_NAME = "nickel-test-fixtures-" + processId();
+
+    private static final String DEFAULT_DIRECTORY = "target";
+    private static final long DEFAULT_LOAD_BUDGET_MILLIS = 50;
+    private static final long DEFAULT_FIXTURE_BUDGET_MILLIS = 250;
+
+    private static FixtureReport shared;
+    private static int sharedRuns;
+
+    private final Path directory;
+    private final long loadBudgetNanos;
+    private final long fixtureBudgetNanos;
+    private final ConcurrentMap<String, ConcurrentMap<String, FixtureStatistics>> byTestClass =
+        new ConcurrentHashMap<>();
+
+    /**
+     * @param directory      Where to write the report
+     * @param loadBudget     Budget for a single load, zero for no budget
+     * @param fixtureBudget  Budget for every load of a fixture in one test class, zero for no budget
+     */
+    public FixtureReport(Path directory, Duration loadBudget, Duration fixtureBudget) {
+        this.directory = requireNonNull(directory, "directory");
+        this.loadBudgetNanos = requireNonNull(loadBudget, "loadBudget").toNanos();
+        this.fixtureBudgetNanos = requireNonNull(fixtureBudget, "fixtureBudget").toNanos();
+    }
+
+    /**
+     * A report configured from the {@code nickel.test.report.*} system properties
+     */
+    public static FixtureReport fromSystemProperties() {
+        return new FixtureReport(
+            Paths.get(System.getProperty(DIRECTORY_PROPERTY, DEFAULT_DIRECTORY)),
+            Duration.ofMillis(Long.getLong(LOAD_BUDGET_PROPERTY, DEFAULT_LOAD_BUDGET_MILLIS)),
+            Duration.ofMillis(Long.getLong(FIXTURE_BUDGET_PROPERTY, DEFAULT_FIXTURE_BUDGET_MILLIS)));
+    }
+
+    /**
+     * Start a test run, recording loads to the JVM's shared report, configured from the system properties when the
+     * first run starts. Runs started by more than one listener share the report, and it's written once, when the
+     * last of them finishes.
+     */
+    static synchronized void startRun() {
+        if (shared == null) {
+            shared = fromSystemProperties();
+        }
+        if (sharedRuns++ == 0) {
+            shared.start();
+        }
+    }
+
+    /**
+     * Finish a test run started with {@link #startRun()}, writing the shared report if no other run is in progress.
+     * The report keeps its loads, so later runs in the same JVM add to it rather than overwrite it.
+     */
+    static synchronized void finishRun() {
+        if (sharedRuns > 0 && --sharedRuns == 0) {
+            shared.finish();
+        }
+    }
+
+    /**
+     * Discard the shared report, for tests
+     */
+    static synchronized void resetShared() {
+        if (sharedRuns > 0) {
+            ResourceLoadListeners.unregister(shared);
+        }
+        shared = null;
+        sharedRuns = 0;
+    }
+
+    /**
+     * Whether the {@code nickel.test.report} system property enables the report
+     */
+    public static boolean enabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /**
+     * Start recording resource loads
+     */
+    public void start() {
+        ResourceLoadListeners.register(this);
+    }
+
+    /**
+     * Stop recording resource loads, and write the report
+     *
+     * @return The plain-text report
+     */
+    public Path finish() {
+        ResourceLoadListeners.unregister(this);
+        try {
+            return write();
+        } catch (IOException e) {
+            throw new NickelTestException("Unable to write fixture report to " + directory, e);
+        }
+    }
+
+    @Override
+    public void resourceLoaded(ResourceLoadEvent event) {
+        byTestClass.computeIfAbsent(event.testClass().getName(), testClass -> new ConcurrentHashMap<>())
+            .computeIfAbsent(event.resourcePath(), resourcePath -> new FixtureStatistics())
+            .record(event);
+    }
+
+    /**
+     * Write {@code nickel-test-fixtures-<pid>.json} and {@code nickel-test-fixtures-<pid>.txt} to the report
+     * directory
+     *
+     * @return The plain-text report
+     */
+    public Path write() throws IOException {
+        List<TestClassEntry> testClasses = snapshot();
+
+        Files.createDirectories(directory);
+        try (Writer writer = Files.newBufferedWriter(directory.resolve(REPORT_NAME + ".json"), StandardCharsets.UTF_8)) {
+            writeJson(testClasses, writer);
+        }
+        Path text = directory.resolve(REPORT_NAME + ".txt");
+        try (Writer writer = Files.newBufferedWriter(text, StandardCharsets.UTF_8)) {
+            writeText(testClasses, writer);
+        }
+        return text;
+    }
+
+    /**
+     * Test classes and their fixtures, slowest first
+     */
+    private List<TestClassEntry> snapshot() {
+        List<TestClassEntry> testClasses = new ArrayList<>();
+        for (Map.Entry<String, ConcurrentMap<String, FixtureStatistics>> testClass : byTestClass.entrySet()) {
+            List<FixtureEntry> fixtures = new ArrayList<>();
+            for (Map.Entry<String, FixtureStatistics> fixture : testClass.getValue().entrySet()) {
+                fixtures.add(new FixtureEntry(fixture.getKey(), fixture.getValue()));
+            }
+            fixtures.sort(Comparator.comparingLong((FixtureEntry fixture) -> fixture.totalNanos).reversed()
+                .thenComparing(fixture -> fixture.resourcePath));
+            testClasses.add(new TestClassEntry(testClass.getKey(), fixtures));
+        }
+        testClasses.sort(Comparator.comparingLong((TestClassEntry testClass) -> testClass.totalNanos).reversed()
+            .thenComparing(testClass -> testClass.name));
+        return testClasses;
+    }
+
+    private void writeJson(List<TestClassEntry> testClasses, Writer writer) throws IOException {
+        writer.write("{\n");
+        writer.write("  \"loadBudgetNanos\": " + loadBudgetNanos + ",\n");
+        writer.write("  \"fixtureBudgetNanos\": " + fixtureBudgetNanos + ",\n");
+        writer.write("  \"testClasses\": [");
+        for (int c = 0; c < testClasses.size(); c++) {
+            TestClassEntry testClass = testClasses.get(c);
+            writer.write(c == 0 ? "\n" : ",\n");
+            writer.write("    {\n");
+            writer.write("      \"testClass\": " + jsonString(testClass.name) + ",\n");
+            writer.write("      \"loads\": " + testClass.loads + ",\n");
+            writer.write("      \"bytesRead\": " + testClass.bytesRead + ",\n");
+            writer.write("      \"totalNanos\": " + testClass.totalNanos + ",\n");
+            writer.write("      \"fixtures\": [");
+            for (int f = 0; f < testClass.fixtures.size(); f++) {
+                FixtureEntry fixture = testClass.fixtures.get(f);
+                writer.write(f == 0 ? "\n" : ",\n");
+                writer.write("        {\n");
+                writer.write("          \"resourcePath\": " + jsonString(fixture.resourcePath) + ",\n");
+                writer.write("          \"loads\": " + fixture.loads + ",\n");
+                writer.write("          \"bytesRead\": " + fixture.bytesRead + ",\n");
+                writer.write("          \"resolveNanos\": " + fixture.resolveNanos + ",\n");
+                writer.write("          \"maxResolveNanos\": " + fixture.maxResolveNanos + ",\n");
+                writer.write("          \"readNanos\": " + fixture.readNanos + ",\n");
+                writer.write("          \"maxReadNanos\": " + fixture.maxReadNanos + ",\n");
+                writer.write("          \"parseNanos\": " + fixture.parseNanos + ",\n");
+                writer.write("          \"maxParseNanos\": " + fixture.maxParseNanos + ",\n");
+                writer.write("          \"totalNanos\": " + fixture.totalNanos + ",\n");
+                writer.write("          \"maxLoadNanos\": " + fixture.maxLoadNanos + ",\n");
+                writer.write("          \"overBudget\": " + overBudget(fixture) + "\n");
+                writer.write("        }");
+            }
+            writer.write(testClass.fixtures.isEmpty() ? "]\n" : "\n      ]\n");
+            writer.write("    }");
+        }
+        writer.write(testClasses.isEmpty() ? "]\n" : "\n  ]\n");
+        writer.write("}\n");
+    }
+
+    private void writeText(List<TestClassEntry> testClasses, Writer writer) throws IOException {
+        long loads = 0;
+        long bytesRead = 0;
+        long totalNanos = 0;
+        long overBudget = 0;
+        for (TestClassEntry testClass : testClasses) {
+            loads += testClass.loads;
+            bytesRead += testClass.bytesRead;
+            totalNanos += testClass.totalNanos;
+            overBudget += testClass.fixtures.stream().filter(this::overBudget).count();
+        }
+
+        writer.write(String.format(Locale.ROOT, "Fixtures: %d loads, %d bytes, %s in %d test classes, %d over budget%n",
+            loads, bytesRead, millis(totalNanos), testClasses.size(), overBudget));
+        writer.write(String.format(Locale.ROOT, "Budgets: %s per load, %s per fixture%n",
+            budget(loadBudgetNanos), budget(fixtureBudgetNanos)));
+
+        for (TestClassEntry testClass : testClasses) {
+            writer.write(String.format(Locale.ROOT, "%n%s: %d loads, %d bytes, %s%n",
+                testClass.name, testClass.loads, testClass.bytesRead, millis(testClass.totalNanos)));
+            for (FixtureEntry fixture : testClass.fixtures) {
+                writer.write(String.format(Locale.ROOT,
+                    "  %-4s %s: %d loads, %d bytes, %s (max %s); resolve %s (max %s), read %s (max %s), parse %s (max %s)%n",
+                    overBudget(fixture) ? "OVER" : "", fixture.resourcePath, fixture.loads, fixture.bytesRead,
+                    millis(fixture.totalNanos), millis(fixture.maxLoadNanos),
+                    millis(fixture.resolveNanos), millis(fixture.maxResolveNanos),
+                    millis(fixture.readNanos), millis(fixture.maxReadNanos),
+                    millis(fixture.parseNanos), millis(fixture.maxParseNanos)));
+            }
+        }
+    }
+
+    private boolean overBudget(FixtureEntry fixture) {
+        return (loadBudgetNanos > 0 && fixture.maxLoadNanos > loadBudgetNanos)
+            || (fixtureBudgetNanos > 0 && fixture.totalNanos > fixtureBudgetNanos);
+    }
+
+    /**
+     * The process id, from the runtime name, which is {@code pid@host} on the common JVMs
+     */
+    private static String processId() {
+        String runtimeName = ManagementFactory.getRuntimeMXBean().getName();
+        int at = runtimeName.indexOf('@');
+        return (at > 0) ? runtimeName.substring(0, at) : runtimeName;
+    }
+
+    private static String budget(long nanos) {
+        return nanos > 0 ? millis(nanos) : "none";
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f ms", nanos / 1_000_000.0);
+    }
+
+    private static String jsonString(String value) {
+        StringBuilder json = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    private static final class TestClassEntry {
+        private final String name;
+        private final List<FixtureEntry> fixtures;
+        private final long loads;
+        private final long bytesRead;
+        private final long totalNanos;
+
+        private TestClassEntry(String name, List<FixtureEntry> fixtures) {
+            this.name = name;
+            this.fixtures = fixtures;
+            this.loads = fixtures.stream().mapToLong(fixture -> fixture.loads).sum();
+            this.bytesRead = fixtures.stream().mapToLong(fixture -> fixture.bytesRead).sum();
+            this.totalNanos = fixtures.stream().mapToLong(fixture -> fixture.totalNanos).sum();
+        }
+    }
+
+    /**
+     * A consistent copy of one fixture's statistics
+     */
+    private static final class FixtureEntry {
+        private final String resourcePath;
+        private final long loads;
+        private final long bytesRead;
+        private final long resolveNanos;
+        private final long maxResolveNanos;
+        private final long readNanos;
+        private final long maxReadNanos;
+        private final long parseNanos;
+        private final long maxParseNanos;
+        private final long totalNanos;
+        private final long maxLoadNanos;
+
+        private FixtureEntry(String resourcePath, FixtureStatistics statistics) {
+            this.resourcePath = resourcePath;
+            synchronized (statistics) {
+                this.loads = statistics.loads();
+                this.bytesRead = statistics.bytesRead();
+                this.resolveNanos = statistics.resolveNanos();
+                this.maxResolveNanos = statistics.maxResolveNanos();
+                this.readNanos = statistics.readNanos();
+                this.maxReadNanos = statistics.maxReadNanos();
+                this.parseNanos = statistics.parseNanos();
+                this.maxParseNanos = statistics.maxParseNanos();
+                this.totalNanos = statistics.totalNanos();
+                this.maxLoadNanos = statistics.maxLoadNanos();
+            }
+        }
+    }
+}
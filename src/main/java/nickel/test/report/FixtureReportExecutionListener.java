@@ -0,0 +1,41 @@
+package nickel.test.report;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Writes a {@link FixtureReport} at the end of a JUnit Platform test run.
+ *
+ * <p>The listener is registered with the launcher automatically, and does nothing unless the
+ * {@code nickel.test.report} system property is {@code true}:</p>
+ *
+ * <pre>
+ * &lt;plugin&gt;
+ *   &lt;artifactId&gt;maven-surefire-plugin&lt;/artifactId&gt;
+ *   &lt;configuration&gt;
+ *     &lt;systemPropertyVariables&gt;
+ *       &lt;nickel.test.report&gt;true&lt;/nickel.test.report&gt;
+ *     &lt;/systemPropertyVariables&gt;
+ *   &lt;/configuration&gt;
+ * &lt;/plugin&gt;
+ * </pre>
+ */
+public class FixtureReportExecutionListener implements TestExecutionListener {
+    private boolean started;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        if (FixtureReport.enabled()) {
+            FixtureReport.startRun();
+            started = true;
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (started) {
+            started = false;
+            FixtureReport.finishRun();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package nickel.test.report;
+
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.notification.RunListener;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Writes a {@link FixtureReport} at the end of a JUnit 4 test run.
+ *
+ * <p>Adding the listener enables the report, configured from the {@code nickel.test.report.*} system properties. If
+ * the JUnit Platform listener is enabled too, both add to the same report:</p>
+ *
+ * <pre>
+ * &lt;configuration&gt;
+ *   &lt;properties&gt;
+ *     &lt;property&gt;
+ *       &lt;name&gt;listener&lt;/name&gt;
+ *       &lt;value&gt;nickel.test.report.FixtureReportRunListener&lt;/value&gt;
+ *     &lt;/property&gt;
+ *   &lt;/properties&gt;
+ * &lt;/configuration&gt;
+ * </pre>
+ */
+@RunListener.ThreadSafe
+public class FixtureReportRunListener extends RunListener {
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    @Override
+    public void testRunStarted(Description description) {
+        if (started.compareAndSet(false, true)) {
+            FixtureReport.startRun();
+        }
+    }
+
+    @Override
+    public void testRunFinished(Result result) {
+        if (started.compareAndSet(true, false)) {
+            FixtureReport.finishRun();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package nickel.test.report;
+
+import nickel.test.metrics.ResourceLoadEvent;
+
+/**
+ * Loads of one resource, for one test class
+ */
+final class FixtureStatistics {
+    private long loads;
+    private long bytesRead;
+    private long resolveNanos;
+    private long maxResolveNanos;
+    private long readNanos;
+    private long maxReadNanos;
+    private long parseNanos;
+    private long maxParseNanos;
+    private long maxLoadNanos;
+
+    synchronized void record(ResourceLoadEvent event) {
+        loads++;
+        bytesRead += Math.max(event.bytesRead(), 0);
+        resolveNanos += event.resolveNanos();
+        maxResolveNanos = Math.max(maxResolveNanos, event.resolveNanos());
+        readNanos += event.readNanos();
+        maxReadNanos = Math.max(maxReadNanos, event.readNanos());
+        parseNanos += event.parseNanos();
+        maxParseNanos = Math.max(maxParseNanos, event.parseNanos());
+        maxLoadNanos = Math.max(maxLoadNanos, event.totalNanos());
+    }
+
+    synchronized long loads() {
+        return loads;
+    }
+
+    synchronized long bytesRead() {
+        return bytesRead;
+    }
+
+    synchronized long resolveNanos() {
+        return resolveNanos;
+    }
+
+    synchronized long maxResolveNanos() {
+        return maxResolveNanos;
+    }
+
+    synchronized long readNanos() {
+        return readNanos;
+    }
+
+    synchronized long maxReadNanos() {
+        return maxReadNanos;
+    }
+
+    synchronized long parseNanos() {
+        return parseNanos;
+    }
+
+    synchronized long maxParseNanos() {
+        return maxParseNanos;
+    }
+
+    synchronized long totalNanos() {
+        return resolveNanos + readNanos + parseNanos;
+    }
+
+    synchronized long maxLoadNanos() {
+        return maxLoadNanos;
+    }
+}
@@ -0,0 +1,195 @@
+package nickel.test.strategy;
+
+import nickel.test.NickelTestException;
+
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import static java.util.Objects.requireNonNull;
+import static nickel.test.strategy.StackBasedNamingStrategy.stackBasedStrategy;
+
+/**
+ * Tracks a naming strategy bound to the current thread by a test framework integration.
+ *
+ * <p>Integrations that already know the current test (such as the JUnit 5 extension) bind a strategy for the duration
+ * of the test. The static entry points ({@code testResource()} and friends) use the bound strategy when there is one,
+ * and only fall back to searching the stack when there isn't.</p>
+ *
+ * <p>To resolve resources on other threads, which have no test on their stack, {@link #capture()} the current test
+ * and bind it there, or use the {@code wrap} and {@code propagating} helpers. Bindings are never inherited by other
+ * threads: a thread started by a test, or a pool thread it creates, may well outlive it.</p>
+ */
+public final class CurrentNamingStrategy {
+    private static final ThreadLocal<Binding> CURRENT_BINDING = new ThreadLocal<>();
+
+    private CurrentNamingStrategy() {
+    }
+
+    /**
+     * The naming strategy for the static entry points: the bound strategy if there is one, otherwise a stack-based
+     * strategy.
+     */
+    public static ResourceNamingStrategy currentStrategy() {
+        return boundStrategy()
+            .orElseGet(StackBasedNamingStrategy::stackBasedStrategy);
+    }
+
+    /**
+     * The strategy bound to the current thread, if any
+     */
+    public static Optional<ResourceNamingStrategy> boundStrategy() {
+        Binding binding = CURRENT_BINDING.get();
+        return (binding == null)
+            ? Optional.empty()
+            : Optional.of(binding.strategy);
+    }
+
+    /**
+     * Bind a naming strategy to the current thread. Close the returned binding, on the same thread, to restore the
+     * previous state.
+     *
+     * @param namingStrategy The strategy to bind - may not be null
+     * @return A binding that restores the previously bound strategy when closed
+     */
+    public static Binding bind(ResourceNamingStrategy namingStrategy) {
+        requireNonNull(namingStrategy, "namingStrategy");
+
+        Binding binding = new Binding(namingStrategy, CURRENT_BINDING.get());
+        CURRENT_BINDING.set(binding);
+        return binding;
+    }
+
+    /**
+     * Capture the current test, to use on another thread. The bound strategy is captured as-is; otherwise the stack
+     * of the calling thread is searched now.
+     *
+     * @return The captured test, which is empty when called outside the scope of a test
+     */
+    public static CapturedStrategy capture() {
+        Optional<ResourceNamingStrategy> boundStrategy = boundStrategy();
+        if (boundStrategy.isPresent()) {
+            return new CapturedStrategy(boundStrategy.get());
+        }
+
+        try {
+            return new CapturedStrategy(stackBasedStrategy().testIdentity());
+        } catch (NickelTestException e) {
+            return new CapturedStrategy(null);
+        }
+    }
+
+    /**
+     * Wrap a task to run with the current test bound, wherever it runs
+     *
+     * @param task The task to wrap
+     */
+    public static Runnable wrap(Runnable task) {
+        return capture().wrap(task);
+    }
+
+    /**
+     * Wrap a task to run with the current test bound, wherever it runs
+     *
+     * @param task The task to wrap
+     * @param <V>  The task result type
+     */
+    public static <V> Callable<V> wrap(Callable<V> task) {
+        return capture().wrap(task);
+    }
+
+    /**
+     * An executor that runs each task with the test that was current when the task was submitted
+     *
+     * @param executor The executor that runs the tasks
+     */
+    public static Executor propagating(Executor executor) {
+        requireNonNull(executor, "executor");
+        return task -> executor.execute(wrap(task));
+    }
+
+    /**
+     * An executor service that runs each task with the test that was current when the task was submitted
+     *
+     * @param executorService The executor service that runs the tasks
+     */
+    public static ExecutorService propagating(ExecutorService executorService) {
+        return new PropagatingExecutorService(executorService);
+    }
+
+    /**
+     * An active binding of a naming strategy to a thread.
+     */
+    public static final class Binding implements AutoCloseable {
+        private final ResourceNamingStrategy strategy;
+        private final Binding previousBinding;
+
+        private Binding(ResourceNamingStrategy strategy, Binding previousBinding) {
+            this.strategy = strategy;
+            this.previousBinding = previousBinding;
+        }
+
+        @Override
+        public void close() {
+            if (previousBinding == null) {
+                CURRENT_BINDING.remove();
+            } else {
+                CURRENT_BINDING.set(previousBinding);
+            }
+        }
+    }
+
+    /**
+     * A test captured on one thread, to be bound on others.
+     */
+    public static final class CapturedStrategy {
+        private final ResourceNamingStrategy strategy;
+
+        private CapturedStrategy(ResourceNamingStrategy strategy) {
+            this.strategy = strategy;
+        }
+
+        /**
+         * The captured strategy, if there was a test to capture
+         */
+        public Optional<ResourceNamingStrategy> strategy() {
+            return Optional.ofNullable(strategy);
+        }
+
+        /**
+         * Wrap a task to run with the captured test bound
+         *
+         * @param task The task to wrap
+         */
+        public Runnable wrap(Runnable task) {
+            requireNonNull(task, "task");
+            if (strategy == null) {
+                return task;
+            }
+            return () -> {
+                try (Binding ignored = bind(strategy)) {
+                    task.run();
+                }
+            };
+        }
+
+        /**
+         * Wrap a task to run with the captured test bound
+         *
+         * @param task The task to wrap
+         * @param <V>  The task result type
+         */
+        public <V> Callable<V> wrap(Callable<V> task) {
+            requireNonNull(task, "task");
+            if (strategy == null) {
+                return task;
+            }
+            return () -> {
+                try (Binding ignored = bind(strategy)) {
+                    return task.call();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package nickel.test.strategy;
+
+import nickel.test.NickelTestException;
+
+import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Stack-based naming strategy for a classpath carrying both JUnit 4 and JUnit 5. Searches the stack for the
+ * annotations of either framework, so a single walk answers each question regardless of which engine runs the test.
+ *
+ * <p>The annotation classes are weakly held: the strategy is cached against the class loader that defines them, and
+ * mustn't keep that loader reachable.</p>
+ */
+final class MixedFrameworkNamingStrategy extends StackBasedNamingStrategy {
+    private final List<WeakReference<Class<? extends Annotation>>> testAnnotations;
+    private final List<WeakReference<Class<? extends Annotation>>> ancestorAnnotations;
+
+    /**
+     * @param testAnnotations     Annotations that mark a test method, for both frameworks
+     * @param ancestorAnnotations Annotations that mark any test lifecycle method, for both frameworks
+     */
+    MixedFrameworkNamingStrategy(
+        List<Class<? extends Annotation>> testAnnotations,
+        List<Class<? extends Annotation>> ancestorAnnotations) {
+        this.testAnnotations = weakly(testAnnotations);
+        this.ancestorAnnotations = weakly(ancestorAnnotations);
+    }
+
+    @Override
+    protected Collection<Class<? extends Annotation>> testAnnotations() {
+        return strongly(testAnnotations);
+    }
+
+    @Override
+    protected Collection<Class<? extends Annotation>> ancestorAnnotations() {
+        return strongly(ancestorAnnotations);
+    }
+
+    private static List<WeakReference<Class<? extends Annotation>>> weakly(List<Class<? extends Annotation>> classes) {
+        return classes.stream()
+            .map(annotationClass -> new WeakReference<Class<? extends Annotation>>(annotationClass))
+            .collect(Collectors.toList());
+    }
+
+    private static List<Class<? extends Annotation>> strongly(List<WeakReference<Class<? extends Annotation>>> references) {
+        List<Class<? extends Annotation>> classes = new ArrayList<>(references.size());
+        for (WeakReference<Class<? extends Annotation>> reference : references) {
+            Class<? extends Annotation> annotationClass = reference.get();
+            if (annotationClass == null) {
+                throw new NickelTestException("Test framework classes have been unloaded");
+            }
+            classes.add(annotationClass);
+        }
+        return classes;
+    }
+}
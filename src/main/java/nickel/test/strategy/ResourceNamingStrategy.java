@@ -1,5 +1,7 @@
 package nickel.test.strategy;
 
+import nickel.test.NickelTestException;
+
 import java.util.Optional;
 
 /**
@@ -19,4 +21,19 @@ public interface ResourceNamingStrategy {
      * @param fullyQualified If true, return the class name with package, otherwise, class name without package
      */
     String suiteName(boolean fullyQualified);
+
+    /**
+     * Resolve the test class and test name together. Strategies that have to search for this information should
+     * override this to find both in a single pass.
+     *
+     * @return A snapshot of the current test's identity
+     */
+    default TestIdentity testIdentity() {
+        try {
+            Class<?> testClass = Class.forName(suiteName(true));
+            return new TestIdentity(testClass, testName());
+        } catch (ClassNotFoundException e) {
+            throw new NickelTestException(e);
+        }
+    }
 }
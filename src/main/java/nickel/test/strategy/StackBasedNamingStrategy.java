@@ -1,5 +1,9 @@
 package nickel.test.strategy;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import nickel.test.NickelTestException;
 import nickel.test.junit4.JUnit4StackBasedNamingStrategy;
@@ -7,18 +11,21 @@ import nickel.test.junit5.JUnit5StackBasedNamingStrategy;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.lang.annotation.Annotation;
-import java.util.ArrayList;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static nickel.test.strategy.StackSearchStrategy.locateAnnotatedMethod;
-import static org.apache.commons.lang3.ClassUtils.convertClassNamesToClasses;
 
 /**
  * Base class for stack-based naming strategy implementations
+ *
+ * <p>Strategies keep no per-test state: each call searches the stack of the calling thread, so they're safe to share
+ * between threads, but only find a test when called from the thread running it.</p>
  */
 public abstract class StackBasedNamingStrategy implements ResourceNamingStrategy {
     enum TestFramework {junit4, junit5}
@@ -40,45 +47,30 @@ public abstract class StackBasedNamingStrategy implements ResourceNamingStrategy
             .put(JUNIT5_BEFORE_ALL, TestFramework.junit5)
             .build();
 
+    /**
+     * The outcome of the classpath probe, per class loader. Class loaders are weakly referenced, and the strategies
+     * only weakly reference the annotation classes they found, so a discarded test class loader doesn't stay pinned by
+     * this cache.
+     */
+    private static final LoadingCache<ClassLoader, Optional<ResourceNamingStrategy>> DETECTED_STRATEGIES =
+        CacheBuilder.newBuilder()
+            .weakKeys()
+            .build(CacheLoader.from(StackBasedNamingStrategy::detectStrategy));
+
     /**
      * Constructor method for stack-based naming strategies. Search for specific classes in the classpath to
      * determine which framework to use.
      * <p>
      * If JUnit 5 is present, it will be used.
      * If JUnit 5 is missing, but JUnit 4 is present, then JUnit 4 will be used
+     * If both are present, the strategy searches the stack for the annotations of either framework
      * If neither framework is located, then throw {@link NickelTestException}
+     * <p>
+     * The classpath probe runs once per class loader, and the strategies returned are shared, stateless instances.
      */
     public static ResourceNamingStrategy stackBasedStrategy() {
-        List<String> frameworkAnnotationKeys = new ArrayList<>(FRAMEWORK_ANNOTATIONS.keySet());
-
-        @SuppressWarnings("unchecked")
-        Map<String, Class<? extends Annotation>> frameworkAnnotationClasses =
-            convertClassNamesToClasses(frameworkAnnotationKeys)
-                .stream()
-                .filter(Objects::nonNull)
-                .collect(Collectors.toMap(Class::getName, c -> (Class<? extends Annotation>) c));
-
-        boolean haveJunit4TestAnnotation = frameworkAnnotationClasses.containsKey(JUNIT4_TEST);
-        boolean haveJunit5TestAnnotation = frameworkAnnotationClasses.containsKey(JUNIT5_TEST);
-
-        if (haveJunit5TestAnnotation && haveJunit4TestAnnotation) {
-            // Search for ancestor annotations
-            Optional<TestFramework> testFramework = locateAnnotatedMethod(frameworkAnnotationClasses.values())
-                .map(Pair::getValue)
-                .map(Annotation::annotationType)
-                .map(Class::getName)
-                .map(FRAMEWORK_ANNOTATIONS::get);
-
-            return testFramework
-                .map(StackBasedNamingStrategy::stackBasedStrategy)
-                .orElseGet(() -> stackBasedStrategy(TestFramework.junit5));
-        } else if (haveJunit5TestAnnotation) {
-            return stackBasedStrategy(TestFramework.junit5);
-        } else if (haveJunit4TestAnnotation) {
-            return stackBasedStrategy(TestFramework.junit4);
-        } else {
-            throw new NickelTestException("Unable to located a supported test framework on the classpath");
-        }
+        return DETECTED_STRATEGIES.getUnchecked(probeClassLoader())
+            .orElseThrow(() -> new NickelTestException("Unable to located a supported test framework on the classpath"));
     }
 
     /**
@@ -89,11 +81,112 @@ public abstract class StackBasedNamingStrategy implements ResourceNamingStrategy
     public static ResourceNamingStrategy stackBasedStrategy(TestFramework framework) {
         switch (framework) {
             case junit4:
-                return new JUnit4StackBasedNamingStrategy();
+                return JUnit4Strategy.INSTANCE;
             case junit5:
-                return new JUnit5StackBasedNamingStrategy();
+                return JUnit5Strategy.INSTANCE;
             default:
                 throw new NickelTestException("Unknown test framework: " + framework);
         }
     }
+
+    private static ClassLoader probeClassLoader() {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return (contextClassLoader == null)
+            ? StackBasedNamingStrategy.class.getClassLoader()
+            : contextClassLoader;
+    }
+
+    private static Optional<ResourceNamingStrategy> detectStrategy(ClassLoader classLoader) {
+        Map<String, Class<? extends Annotation>> frameworkAnnotationClasses = new LinkedHashMap<>();
+        for (String annotationClassName : FRAMEWORK_ANNOTATIONS.keySet()) {
+            try {
+                @SuppressWarnings("unchecked")
+                Class<? extends Annotation> annotationClass =
+                    (Class<? extends Annotation>) Class.forName(annotationClassName, false, classLoader);
+                frameworkAnnotationClasses.put(annotationClassName, annotationClass);
+            } catch (ClassNotFoundException | LinkageError e) {
+                // Framework not present in this class loader
+            }
+        }
+
+        boolean haveJunit4TestAnnotation = frameworkAnnotationClasses.containsKey(JUNIT4_TEST);
+        boolean haveJunit5TestAnnotation = frameworkAnnotationClasses.containsKey(JUNIT5_TEST);
+
+        if (haveJunit5TestAnnotation && haveJunit4TestAnnotation) {
+            List<Class<? extends Annotation>> testAnnotations = ImmutableList.of(
+                frameworkAnnotationClasses.get(JUNIT4_TEST),
+                frameworkAnnotationClasses.get(JUNIT5_TEST));
+            return Optional.of(new MixedFrameworkNamingStrategy(
+                testAnnotations,
+                ImmutableList.copyOf(frameworkAnnotationClasses.values())));
+        } else if (haveJunit5TestAnnotation) {
+            return Optional.of(stackBasedStrategy(TestFramework.junit5));
+        } else if (haveJunit4TestAnnotation) {
+            return Optional.of(stackBasedStrategy(TestFramework.junit4));
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Annotations that mark a test method.
+     */
+    protected abstract Collection<Class<? extends Annotation>> testAnnotations();
+
+    /**
+     * Annotations that mark any method run on behalf of a test class: test methods and setup methods.
+     */
+    protected abstract Collection<Class<? extends Annotation>> ancestorAnnotations();
+
+    @Override
+    public Optional<String> testName() {
+        return locateAnnotatedMethod(testAnnotations())
+            .map(Pair::getLeft)
+            .map(Method::getName);
+    }
+
+    @Override
+    public String suiteName(boolean fullyQualified) {
+        return testIdentity().suiteName(fullyQualified);
+    }
+
+    /**
+     * Find the test class and test name with one stack walk. The first annotated ancestor frame gives the test
+     * class; if that frame is the test method itself, it gives the test name too. Only from within a setup method
+     * is a second walk needed to look for an enclosing test method.
+     */
+    @Override
+    public TestIdentity testIdentity() {
+        Pair<Method, Annotation> ancestorMethod = locateAnnotatedMethod(ancestorAnnotations())
+            .orElseThrow(() -> new NickelTestException("Unable to locate a method with " + describe(ancestorAnnotations())));
+
+        Optional<String> testName = testAnnotations().contains(ancestorMethod.getRight().annotationType())
+            ? Optional.of(ancestorMethod.getLeft().getName())
+            : testName();
+        return new TestIdentity(ancestorMethod.getLeft().getDeclaringClass(), testName);
+    }
+
+    private static String describe(Collection<Class<? extends Annotation>> annotationClasses) {
+        List<String> names = annotationClasses.stream()
+            .map(annotationClass -> "@" + annotationClass.getSimpleName())
+            .distinct()
+            .collect(Collectors.toList());
+        return (names.size() == 1)
+            ? names.get(0)
+            : String.join(", ", names.subList(0, names.size() - 1)) + ", or " + names.get(names.size() - 1);
+    }
+
+    /**
+     * Holder for the shared JUnit 4 strategy, so JUnit 4 classes are only loaded when the strategy is requested.
+     */
+    private static final class JUnit4Strategy {
+        static final ResourceNamingStrategy INSTANCE = new JUnit4StackBasedNamingStrategy();
+    }
+
+    /**
+     * Holder for the shared JUnit 5 strategy, so JUnit 5 classes are only loaded when the strategy is requested.
+     */
+    private static final class JUnit5Strategy {
+        static final ResourceNamingStrategy INSTANCE = new JUnit5StackBasedNamingStrategy();
+    }
 }
@@ -0,0 +1,66 @@
+package nickel.test.strategy;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Java 8 implementation of the call stack search. Captures the full stack trace and resolves each frame by class name.
+ *
+ * <p>On Java 9 and later, the multi-release jar replaces this class with an implementation based on
+ * {@code java.lang.StackWalker}.</p>
+ */
+final class StackFrames {
+    private StackFrames() {
+    }
+
+    /**
+     * Walk the stack of the calling thread, from the innermost frame outwards.
+     *
+     * @param annotationClasses Annotation classes to search for
+     * @return The first method on the stack carrying one of the annotations, if any
+     */
+    static Optional<Pair<Method, Annotation>> firstAnnotatedFrame(
+        Collection<Class<? extends Annotation>> annotationClasses) {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        for (StackTraceElement element : Thread.currentThread().getStackTrace()) {
+            Class<?> stackClass = frameClass(element.getClassName(), contextClassLoader);
+            if (stackClass == null) {
+                continue;
+            }
+
+            Pair<Method, Annotation> annotatedMethod =
+                StackSearchStrategy.annotatedMethod(stackClass, element.getMethodName(), annotationClasses);
+            if (annotatedMethod != null) {
+                return Optional.of(annotatedMethod);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Resolve the class of a frame by name. Test classes may be loaded below this library's class loader (e.g. by a
+     * build tool or IDE), which makes them visible only to the context class loader, so that's tried first.
+     *
+     * @return The class, or null if it can't be found
+     */
+    private static Class<?> frameClass(String className, ClassLoader contextClassLoader) {
+        if (contextClassLoader != null) {
+            try {
+                return Class.forName(className, false, contextClassLoader);
+            } catch (ClassNotFoundException e) {
+                // Not visible from the context class loader - try this library's
+            }
+        }
+
+        try {
+            return Class.forName(className);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+}
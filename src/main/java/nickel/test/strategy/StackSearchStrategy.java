@@ -7,9 +7,27 @@ import org.apache.commons.lang3.tuple.Pair;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class StackSearchStrategy {
+    /**
+     * Per-class table of stack frame methods, keyed by method name. Entries are never evicted, since the answer for a
+     * given class and method name can't change. Most frames on the stack belong to the JDK or the test framework,
+     * so the negative entries are the ones that get hit the most.
+     */
+    private static final ClassValue<ConcurrentMap<String, FrameMethod>> FRAME_METHODS =
+        new ClassValue<ConcurrentMap<String, FrameMethod>>() {
+            @Override
+            protected ConcurrentMap<String, FrameMethod> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+
     /**
      * Search the stack to find methods that carry the given annotations.
      *
@@ -22,29 +40,82 @@ public class StackSearchStrategy {
             throw new IllegalArgumentException("Must provide annotationClasses to search for");
         }
 
-        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-        for (StackTraceElement element : stackTrace) {
-            String className = element.getClassName();
-            String methodName = element.getMethodName();
+        return StackFrames.firstAnnotatedFrame(annotationClasses);
+    }
+
+    /**
+     * Check a single stack frame for one of the given annotations.
+     *
+     * @param stackClass        The class declaring the frame's method
+     * @param methodName        The name of the frame's method
+     * @param annotationClasses Annotation classes to search for
+     * @return The method and its matching annotation, or null if the frame doesn't match
+     */
+    static Pair<Method, Annotation> annotatedMethod(
+        Class<?> stackClass,
+        String methodName,
+        Collection<Class<? extends Annotation>> annotationClasses) {
+        ConcurrentMap<String, FrameMethod> frameMethods = FRAME_METHODS.get(stackClass);
+
+        FrameMethod frameMethod = frameMethods.get(methodName);
+        if (frameMethod == null) {
+            FrameMethod resolved = FrameMethod.resolve(stackClass, methodName);
+            frameMethod = frameMethods.putIfAbsent(methodName, resolved);
+            if (frameMethod == null) {
+                frameMethod = resolved;
+            }
+        }
+
+        return frameMethod.match(annotationClasses);
+    }
 
-            Class<?> stackClass;
+    /**
+     * The outcome of resolving a stack frame to a method: the method, and the annotations it carries.
+     */
+    private static final class FrameMethod {
+        private static final FrameMethod NOT_ANNOTATED = new FrameMethod(null, Collections.emptyMap());
+
+        private final Method method;
+        private final Map<Class<? extends Annotation>, Annotation> annotations;
+
+        private FrameMethod(Method method, Map<Class<? extends Annotation>, Annotation> annotations) {
+            this.method = method;
+            this.annotations = annotations;
+        }
+
+        static FrameMethod resolve(Class<?> stackClass, String methodName) {
             Method candidateMethod;
             try {
-                stackClass = Class.forName(className);
                 candidateMethod = stackClass.getDeclaredMethod(methodName);
-            } catch (ClassNotFoundException | NoSuchMethodException e) {
-                continue;
+            } catch (NoSuchMethodException e) {
+                return NOT_ANNOTATED;
+            }
+
+            Annotation[] declaredAnnotations = candidateMethod.getDeclaredAnnotations();
+            if (declaredAnnotations.length == 0) {
+                return NOT_ANNOTATED;
+            }
+
+            Map<Class<? extends Annotation>, Annotation> annotations = new HashMap<>();
+            for (Annotation annotation : declaredAnnotations) {
+                annotations.put(annotation.annotationType(), annotation);
+            }
+            return new FrameMethod(candidateMethod, annotations);
+        }
+
+        Pair<Method, Annotation> match(Collection<Class<? extends Annotation>> annotationClasses) {
+            if (annotations.isEmpty()) {
+                return null;
             }
 
             for (Class<? extends Annotation> annotationClass : annotationClasses) {
-                Annotation annotation = candidateMethod.getAnnotation(annotationClass);
+                Annotation annotation = annotations.get(annotationClass);
                 if (annotation != null) {
-                    return Optional.of(ImmutablePair.of(candidateMethod, annotation));
+                    return ImmutablePair.of(method, annotation);
                 }
             }
-        }
-
-        return Optional.empty();
 
+            return null;
+        }
     }
 }
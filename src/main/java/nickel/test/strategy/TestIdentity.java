@@ -0,0 +1,57 @@
+package nickel.test.strategy;
+
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A resolved snapshot of the current test: the test class, and the test method name if there is one.
+ *
+ * <p>Resolving test identity may require walking the stack, so a resource builder captures it once and reuses it
+ * for every naming and lookup decision. An identity is also a naming strategy in its own right, which answers
+ * without any further inspection.</p>
+ */
+public final class TestIdentity implements ResourceNamingStrategy {
+    private final Class<?> testClass;
+    private final String testName;
+
+    /**
+     * @param testClass The test class - may not be null
+     * @param testName  The name of the current test, if any
+     */
+    public TestIdentity(Class<?> testClass, Optional<String> testName) {
+        this.testClass = requireNonNull(testClass, "testClass");
+        this.testName = testName.orElse(null);
+    }
+
+    /**
+     * The test class, used as the anchor for classpath lookups.
+     */
+    public Class<?> testClass() {
+        return testClass;
+    }
+
+    @Override
+    public Optional<String> testName() {
+        return Optional.ofNullable(testName);
+    }
+
+    @Override
+    public String suiteName(boolean fullyQualified) {
+        return fullyQualified
+            ? testClass.getName()
+            : testClass.getSimpleName();
+    }
+
+    @Override
+    public TestIdentity testIdentity() {
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return (testName == null)
+            ? testClass.getName()
+            : testClass.getName() + "#" + testName;
+    }
+}
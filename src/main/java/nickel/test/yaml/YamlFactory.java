@@ -0,0 +1,17 @@
+package nickel.test.yaml;
+
+import org.yaml.snakeyaml.Yaml;
+
+/**
+ * Creates configured {@link Yaml} instances. {@link Yaml} is not thread-safe, so rather than sharing one configured
+ * instance, supply a factory and let {@link YamlTestResource} pool the instances, one per concurrent load.
+ *
+ * <p>May be used as a {@link nickel.test.annotations.BindingContext}.</p>
+ */
+@FunctionalInterface
+public interface YamlFactory {
+    /**
+     * Create a new, fully configured YAML processor
+     */
+    Yaml newYaml();
+}
@@ -1,23 +1,48 @@
 package nickel.test.yaml;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import nickel.test.NickelTestResource;
 import nickel.test.strategy.ResourceNamingStrategy;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
 
-import static nickel.test.strategy.StackBasedNamingStrategy.stackBasedStrategy;
+import static nickel.test.strategy.CurrentNamingStrategy.currentStrategy;
 
 /**
  * YAML Test resource processed with the SnakeYAML library.
+ *
+ * <p>If no processor is supplied, a default {@link Yaml} instance is used. Default instances, and instances created by
+ * a {@link YamlFactory}, are pooled: each one is borrowed for a single load, and returned to a small pool shared by
+ * every thread, so loads on short-lived (e.g. virtual) threads reuse them as well.</p>
  */
 public class YamlTestResource extends NickelTestResource<YamlTestResource> {
     public static YamlTestResource yamlTestResource() throws ClassNotFoundException {
-        return new YamlTestResource(stackBasedStrategy());
+        return new YamlTestResource(currentStrategy());
     }
 
+    /**
+     * Idle processors kept per factory: enough for every prefetch load to reuse one
+     */
+    private static final int IDLE_PROCESSORS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    private static final YamlFactory DEFAULT_FACTORY = Yaml::new;
+
+    /**
+     * Idle processors, by factory, most recently returned first. Factories are weakly referenced, so a factory
+     * supplied by the caller isn't kept alive by its pool.
+     */
+    private static final LoadingCache<YamlFactory, BlockingDeque<Yaml>> IDLE_YAML = CacheBuilder.newBuilder()
+        .weakKeys()
+        .build(CacheLoader.from(yamlFactory -> new LinkedBlockingDeque<>(IDLE_PROCESSORS)));
+
     private Yaml yaml;
+    private YamlFactory yamlFactory;
 
     public YamlTestResource(ResourceNamingStrategy namingStrategy) throws ClassNotFoundException {
         super(namingStrategy);
@@ -33,23 +58,46 @@ public class YamlTestResource extends NickelTestResource<YamlTestResource> {
         return this;
     }
 
+    /**
+     * Use YAML processors from a factory. Instances from the factory are pooled, and reused by later loads on any
+     * thread. A processor supplied to {@link #withYaml(Yaml)} takes precedence.
+     *
+     * @param yamlFactory The factory for YAML processors
+     */
+    public YamlTestResource withYamlFactory(YamlFactory yamlFactory) {
+        this.yamlFactory = yamlFactory;
+        return this;
+    }
+
     /**
      * Bind a test resource to a bean class using the YAML processor.
      *
+     * <p>Cached copies are made by parsing the resource again, from content retained in the cache.</p>
+     *
      * @param targetClass The desired type to bind the YAML into
      * @param <T>         The target type
      * @return Bound object from the YAML processor
      */
     public <T> T asYaml(Class<T> targetClass) throws IOException {
         defaultResourceExtension(".yaml");
-        try (InputStream stream = resolveStream()) {
-            return yaml().loadAs(stream, targetClass);
-        }
+        return parseResource("yaml", targetClass, (yaml != null) ? yaml : yamlFactory,
+            stream -> load(stream, targetClass),
+            null);
     }
 
-    private Yaml yaml() {
-        return (yaml == null)
-            ? new Yaml()
-            : yaml;
+    private <T> T load(InputStream stream, Class<T> targetClass) {
+        if (yaml != null) {
+            return yaml.loadAs(stream, targetClass);
+        }
+
+        YamlFactory factory = (yamlFactory != null) ? yamlFactory : DEFAULT_FACTORY;
+        BlockingDeque<Yaml> idle = IDLE_YAML.getUnchecked(factory);
+        Yaml pooled = idle.pollFirst();
+        Yaml processor = (pooled != null) ? pooled : factory.newYaml();
+        try {
+            return processor.loadAs(stream, targetClass);
+        } finally {
+            idle.offerFirst(processor);
+        }
     }
 }
@@ -0,0 +1,71 @@
+package nickel.test.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * The {@code jdk.jfr} events committed by {@link FlightRecorderEvent}
+ */
+@Category({"NickelTest", "Fixtures"})
+abstract class FixtureLoadEvent extends Event {
+    @Label("Test Class")
+    Class<?> testClass;
+
+    @Label("Test Name")
+    String testName;
+
+    @Label("Element Name")
+    @Description("The field or parameter the resource is loaded for")
+    String elementName;
+
+    @Label("Resource Path")
+    String path;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes = -1;
+
+    @Name("nickel.test.NamingResolution")
+    @Label("Test Naming Resolution")
+    @Description("Working out the test class and name, usually by walking the stack")
+    static final class NamingResolution extends FixtureLoadEvent {
+        @Label("Naming Strategy")
+        Class<?> strategy;
+    }
+
+    @Name("nickel.test.ClasspathLookup")
+    @Label("Class Path Lookup")
+    @Description("Finding a test resource on the class path")
+    static final class ClasspathLookup extends FixtureLoadEvent {
+        @Label("Found")
+        boolean found;
+    }
+
+    @Name("nickel.test.StreamRead")
+    @Label("Resource Stream Read")
+    @Description("Loading a test resource's bytes without parsing them: reading the source a cached fixture keeps, or "
+        + "loading a ByteBuffer, which may map the file rather than read it")
+    static final class StreamRead extends FixtureLoadEvent {
+    }
+
+    @Name("nickel.test.BindingParse")
+    @Label("Resource Binding Parse")
+    @Description("Parsing a test resource, e.g. with Jackson, JAXB or SnakeYAML")
+    static final class BindingParse extends FixtureLoadEvent {
+        @Label("Binding")
+        String binding;
+
+        @Label("Target Type")
+        String targetType;
+
+        @Label("Read Time")
+        @Description("The part of the parse spent waiting on the resource stream")
+        @Timespan
+        long readTime;
+    }
+}
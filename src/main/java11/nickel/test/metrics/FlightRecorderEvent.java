@@ -0,0 +1,154 @@
+package nickel.test.metrics;
+
+import jdk.jfr.EventType;
+import nickel.test.strategy.TestIdentity;
+
+import java.lang.reflect.Type;
+
+/**
+ * A Java Flight Recorder event for one step of a resource load, started when it's created.
+ *
+ * <p>Events are only created and timed while their {@code jdk.jfr} event type is enabled in a recording. The event
+ * types are looked up once, so with recording off each step costs an enabled check, and allocates nothing.</p>
+ */
+public final class FlightRecorderEvent {
+    private static final FlightRecorderEvent DISABLED = new FlightRecorderEvent(null);
+    private static final EventType NAMING_RESOLUTION = EventType.getEventType(FixtureLoadEvent.NamingResolution.class);
+    private static final EventType CLASSPATH_LOOKUP = EventType.getEventType(FixtureLoadEvent.ClasspathLookup.class);
+    private static final EventType STREAM_READ = EventType.getEventType(FixtureLoadEvent.StreamRead.class);
+    private static final EventType BINDING_PARSE = EventType.getEventType(FixtureLoadEvent.BindingParse.class);
+
+    private final FixtureLoadEvent event;
+
+    private FlightRecorderEvent(FixtureLoadEvent event) {
+        this.event = event;
+    }
+
+    /**
+     * Whether stream reads or binding parses are being recorded. While they are, the reads of a resource stream are
+     * timed apart from its parse.
+     */
+    public static boolean recordingLoads() {
+        return STREAM_READ.isEnabled() || BINDING_PARSE.isEnabled();
+    }
+
+    /**
+     * Start timing the resolution of the test class and name
+     *
+     * @param strategy The naming strategy doing the resolution
+     */
+    public static FlightRecorderEvent namingResolution(Class<?> strategy) {
+        if (!NAMING_RESOLUTION.isEnabled()) {
+            return DISABLED;
+        }
+        FixtureLoadEvent.NamingResolution event = new FixtureLoadEvent.NamingResolution();
+        event.strategy = strategy;
+        return begin(event);
+    }
+
+    /**
+     * Start timing a class path lookup
+     *
+     * @param path The absolute resource path
+     */
+    public static FlightRecorderEvent classpathLookup(String path) {
+        if (!CLASSPATH_LOOKUP.isEnabled()) {
+            return DISABLED;
+        }
+        FixtureLoadEvent.ClasspathLookup event = new FixtureLoadEvent.ClasspathLookup();
+        event.path = path;
+        return begin(event);
+    }
+
+    /**
+     * Start timing a read of the resource stream
+     *
+     * @param path The absolute resource path
+     */
+    public static FlightRecorderEvent streamRead(String path) {
+        if (!STREAM_READ.isEnabled()) {
+            return DISABLED;
+        }
+        FixtureLoadEvent.StreamRead event = new FixtureLoadEvent.StreamRead();
+        event.path = path;
+        return begin(event);
+    }
+
+    /**
+     * Start timing a parse of the resource content
+     *
+     * @param path       The absolute resource path
+     * @param binding    The binding, e.g. {@code jackson}
+     * @param targetType The type the resource is parsed into
+     */
+    public static FlightRecorderEvent bindingParse(String path, String binding, Type targetType) {
+        if (!BINDING_PARSE.isEnabled()) {
+            return DISABLED;
+        }
+        FixtureLoadEvent.BindingParse event = new FixtureLoadEvent.BindingParse();
+        event.path = path;
+        event.binding = binding;
+        event.targetType = targetType.getTypeName();
+        return begin(event);
+    }
+
+    private static FlightRecorderEvent begin(FixtureLoadEvent event) {
+        event.begin();
+        return new FlightRecorderEvent(event);
+    }
+
+    /**
+     * @param identity    The test the resource is loaded for
+     * @param elementName The field or parameter the resource is loaded for, or null
+     */
+    public FlightRecorderEvent test(TestIdentity identity, String elementName) {
+        if (event != null) {
+            event.testClass = identity.testClass();
+            event.testName = identity.testName().orElse(null);
+            event.elementName = elementName;
+        }
+        return this;
+    }
+
+    /**
+     * @param bytes The number of bytes read or parsed
+     */
+    public FlightRecorderEvent bytes(long bytes) {
+        if (event != null) {
+            event.bytes = bytes;
+        }
+        return this;
+    }
+
+    /**
+     * @param readNanos The time a binding parse spent waiting on the resource stream, in nanoseconds
+     */
+    public FlightRecorderEvent readTime(long readNanos) {
+        if (event instanceof FixtureLoadEvent.BindingParse) {
+            ((FixtureLoadEvent.BindingParse) event).readTime = readNanos;
+        }
+        return this;
+    }
+
+    /**
+     * @param found Whether a class path lookup found the resource
+     */
+    public FlightRecorderEvent found(boolean found) {
+        if (event instanceof FixtureLoadEvent.ClasspathLookup) {
+            ((FixtureLoadEvent.ClasspathLookup) event).found = found;
+        }
+        return this;
+    }
+
+    /**
+     * Stop timing, and record the event if it's enabled and over its threshold
+     */
+    public void commit() {
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package nickel.test.inject;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs resource loads for {@link nickel.test.annotations.PrefetchResources} test classes, each on its own virtual
+ * thread. Loads parse as well as read, so as many run at once as the platform thread version allows; the rest wait,
+ * cheaply, on their virtual threads.
+ */
+final class PrefetchExecutor {
+    private static final int CONCURRENT_LOADS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    private static final Semaphore PERMITS = new Semaphore(CONCURRENT_LOADS);
+
+    private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual()
+            .name("nickel-test-prefetch-", 0)
+            .factory());
+
+    private PrefetchExecutor() {
+    }
+
+    static Executor executor() {
+        return task -> EXECUTOR.execute(() -> {
+            PERMITS.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                PERMITS.release();
+            }
+        });
+    }
+}
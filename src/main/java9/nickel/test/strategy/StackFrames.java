@@ -0,0 +1,37 @@
+package nickel.test.strategy;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Java 9 implementation of the call stack search, using {@link StackWalker}.
+ *
+ * <p>Frames are visited lazily and the walk stops at the first annotated method. Declaring classes come straight
+ * from the frame, so no {@link StackTraceElement} is built and no class is loaded by name.</p>
+ */
+final class StackFrames {
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private StackFrames() {
+    }
+
+    /**
+     * Walk the stack of the calling thread, from the innermost frame outwards.
+     *
+     * @param annotationClasses Annotation classes to search for
+     * @return The first method on the stack carrying one of the annotations, if any
+     */
+    static Optional<Pair<Method, Annotation>> firstAnnotatedFrame(
+        Collection<Class<? extends Annotation>> annotationClasses) {
+        return WALKER.walk(frames -> frames
+            .map(frame -> StackSearchStrategy.annotatedMethod(
+                frame.getDeclaringClass(), frame.getMethodName(), annotationClasses))
+            .filter(Objects::nonNull)
+            .findFirst());
+    }
+}
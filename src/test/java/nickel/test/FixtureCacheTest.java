@@ -0,0 +1,111 @@
+package nickel.test;
+
+import nickel.test.annotations.NickelTestResource;
+import nickel.test.inject.NickelTestInjector;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Properties;
+
+import static nickel.test.NickelTestResource.testResource;
+import static nickel.test.jackson.JacksonTestResource.jacksonTestResource;
+import static nickel.test.jaxb.JaxbTestResource.jaxbTestResource;
+import static nickel.test.yaml.YamlTestResource.yamlTestResource;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FixtureCacheTest {
+    @After
+    public void resetCache() {
+        FixtureCache.maximumWeight(FixtureCache.DEFAULT_MAXIMUM_WEIGHT);
+    }
+
+    @Test
+    public void sharedProperties() throws IOException {
+        Properties first = testResource().forTestMethod().cached(CacheMode.shared).asProperties();
+        Properties second = testResource().forTestMethod().cached(CacheMode.shared).asProperties();
+
+        assertThat(first).containsEntry("value1", "42");
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void copiedProperties() throws IOException {
+        Properties first = testResource().forTestMethod().cached(CacheMode.copy).asProperties();
+        first.setProperty("value1", "modified");
+        Properties second = testResource().forTestMethod().cached(CacheMode.copy).asProperties();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second).containsEntry("value1", "43");
+    }
+
+    @Test
+    public void copiedJson() throws Exception {
+        BeanClass first = jacksonTestResource().forTestMethod().cached(CacheMode.copy).asJson(BeanClass.class);
+        first.setValue(0);
+        BeanClass second = jacksonTestResource().forTestMethod().cached(CacheMode.copy).asJson(BeanClass.class);
+
+        assertThat(second).isEqualTo(new BeanClass(7));
+    }
+
+    @Test
+    public void copiedXml() throws Exception {
+        BeanClass first = jaxbTestResource().forTestMethod().cached(CacheMode.copy).asXml(BeanClass.class);
+        first.setValue(0);
+        BeanClass second = jaxbTestResource().forTestMethod().cached(CacheMode.copy).asXml(BeanClass.class);
+
+        assertThat(second).isEqualTo(new BeanClass(8));
+    }
+
+    @Test
+    public void copiedYaml() throws Exception {
+        BeanClass first = yamlTestResource().forTestMethod().cached(CacheMode.copy).asYaml(BeanClass.class);
+        first.setValue(0);
+        BeanClass second = yamlTestResource().forTestMethod().cached(CacheMode.copy).asYaml(BeanClass.class);
+
+        assertThat(second).isEqualTo(new BeanClass(9));
+    }
+
+    @Test
+    public void loaderFailuresUnwrapped() {
+        FixtureCache.FixtureKey key = new FixtureCache.FixtureKey(
+            getClass().getClassLoader(), "FixtureCacheTest/failing", 0, "failing", String.class, null);
+
+        IllegalStateException exception = new IllegalStateException("Parse failed");
+        assertThatThrownBy(() -> FixtureCache.get(key, () -> {
+            throw exception;
+        })).isSameAs(exception);
+
+        AssertionError error = new AssertionError("Parse failed");
+        assertThatThrownBy(() -> FixtureCache.get(key, () -> {
+            throw error;
+        })).isSameAs(error);
+    }
+
+    @Test
+    public void boundedWeight() throws IOException {
+        FixtureCache.maximumWeight(0);
+
+        Properties first = testResource().forTestMethod().cached(CacheMode.shared).asProperties();
+        Properties second = testResource().forTestMethod().cached(CacheMode.shared).asProperties();
+
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+    }
+
+    @Test
+    public void injected() {
+        InjectedFixtures first = new InjectedFixtures();
+        InjectedFixtures second = new InjectedFixtures();
+        new NickelTestInjector(first).injectAllFields();
+        new NickelTestInjector(second).injectAllFields();
+
+        assertThat(first.injected).isEqualTo("injected value\n");
+        assertThat(second.injected).isSameAs(first.injected);
+    }
+
+    public static class InjectedFixtures {
+        @NickelTestResource(resourcePath = "/FixtureCacheTest", cache = CacheMode.shared)
+        String injected;
+    }
+}
@@ -1,18 +1,37 @@
 package nickel.test;
 
+import nickel.test.strategy.TestIdentity;
 import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 
 import static nickel.test.NickelTestResource.testResource;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class NickelTestResourceTest {
+    private static final byte[] BINARY = "binary\0content".getBytes(StandardCharsets.UTF_8);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void testCaseBytes() throws ClassNotFoundException, IOException {
         byte[] expectedBytes = "testCaseBytes".getBytes(StandardCharsets.UTF_8);
@@ -82,6 +101,73 @@ public class NickelTestResourceTest {
         assertThat(testString).isEqualTo("relative");
     }
 
+    @Test
+    public void byteBuffer() throws IOException {
+        ByteBuffer buffer = testResource()
+            .forTestClass()
+            .resourceName("binary.bin")
+            .asByteBuffer();
+
+        assertThat(buffer.isDirect()).isTrue();
+        assertThat(buffer).isEqualTo(ByteBuffer.wrap(BINARY));
+    }
+
+    @Test
+    public void mappedBuffer() throws IOException {
+        ByteBuffer buffer = testResource()
+            .forTestClass()
+            .resourceName("binary.bin")
+            .asMappedBuffer();
+
+        assertThat(buffer).isInstanceOf(MappedByteBuffer.class);
+        assertThat(buffer.isReadOnly()).isTrue();
+        assertThat(buffer).isEqualTo(ByteBuffer.wrap(BINARY));
+    }
+
+    @Test
+    public void channel() throws IOException {
+        try (ReadableByteChannel channel = testResource()
+            .forTestClass()
+            .resourceName("binary.bin")
+            .asChannel()) {
+            assertThat(channel).isInstanceOf(FileChannel.class);
+            assertThat(((FileChannel) channel).size()).isEqualTo(BINARY.length);
+        }
+    }
+
+    @Test
+    public void buffersFromJar() throws Exception {
+        File jar = temporaryFolder.newFile("fixtures.jar");
+        try (JarOutputStream jarStream = new JarOutputStream(new FileOutputStream(jar))) {
+            jarStream.putNextEntry(new JarEntry("jarred/binary.bin"));
+            jarStream.write(BINARY);
+            String classEntry = JarLoaded.class.getName().replace('.', '/') + ".class";
+            jarStream.putNextEntry(new JarEntry(classEntry));
+            try (InputStream classStream = JarLoaded.class.getClassLoader().getResourceAsStream(classEntry)) {
+                IOUtils.copy(classStream, jarStream);
+            }
+        }
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{jar.toURI().toURL()}, null)) {
+            TestIdentity jarIdentity = new TestIdentity(
+                classLoader.loadClass(JarLoaded.class.getName()),
+                Optional.empty());
+
+            ByteBuffer mapped = new NickelTestResource<>(jarIdentity)
+                .resolvedPath("/jarred/binary.bin")
+                .asMappedBuffer();
+            assertThat(mapped.isDirect()).isTrue();
+            assertThat(mapped.isReadOnly()).isTrue();
+            assertThat(mapped).isEqualTo(ByteBuffer.wrap(BINARY));
+
+            try (ReadableByteChannel channel = new NickelTestResource<>(jarIdentity)
+                .resolvedPath("/jarred/binary.bin")
+                .asChannel()) {
+                assertThat(channel).isNotInstanceOf(FileChannel.class);
+            }
+        }
+    }
+
     @Test
     public void properties() throws ClassNotFoundException, IOException {
         Properties properties = testResource()
@@ -105,4 +191,10 @@ public class NickelTestResourceTest {
         assertThat(properties).hasEntrySatisfying("value2", value -> assertThat(value).isEqualTo("508"));
         assertThat(properties.keySet()).hasSize(2);
     }
+
+    /**
+     * Loaded from a jar, so resources are looked up there
+     */
+    public static class JarLoaded {
+    }
 }
@@ -0,0 +1,77 @@
+package nickel.test;
+
+import nickel.test.ResourceLocator.Resolution;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourceLocatorTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @After
+    public void resetLocator() {
+        ResourceLocator.checkFileTimestamps(false);
+        ResourceLocator.invalidateAll();
+    }
+
+    @Test
+    public void cachedLookup() {
+        ClassLoader classLoader = getClass().getClassLoader();
+        Resolution first = ResourceLocator.resolve(classLoader, "NickelTestResourceTest/stringFile");
+        Resolution second = ResourceLocator.resolve(classLoader, "NickelTestResourceTest/stringFile");
+
+        assertThat(first.url()).isEqualTo(classLoader.getResource("NickelTestResourceTest/stringFile"));
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void negativeLookup() {
+        ClassLoader classLoader = getClass().getClassLoader();
+        Resolution first = ResourceLocator.resolve(classLoader, "ResourceLocatorTest/missing");
+        Resolution second = ResourceLocator.resolve(classLoader, "ResourceLocatorTest/missing");
+
+        assertThat(first.url()).isNull();
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void invalidate() throws Exception {
+        File root = temporaryFolder.getRoot();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{root.toURI().toURL()}, null)) {
+            assertThat(ResourceLocator.resolve(classLoader, "fixture").url()).isNull();
+
+            Files.write(new File(root, "fixture").toPath(), "fixture".getBytes(StandardCharsets.UTF_8));
+            assertThat(ResourceLocator.resolve(classLoader, "fixture").url()).isNull();
+
+            ResourceLocator.invalidate(classLoader);
+            assertThat(ResourceLocator.resolve(classLoader, "fixture").url()).isNotNull();
+        }
+    }
+
+    @Test
+    public void fileTimestamps() throws Exception {
+        File fixture = temporaryFolder.newFile("fixture");
+        URL root = temporaryFolder.getRoot().toURI().toURL();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{root}, null)) {
+            Resolution first = ResourceLocator.resolve(classLoader, "fixture");
+            assertThat(fixture.setLastModified(first.lastModified() - 10_000)).isTrue();
+
+            assertThat(ResourceLocator.resolve(classLoader, "fixture")).isSameAs(first);
+
+            ResourceLocator.checkFileTimestamps(true);
+            Resolution second = ResourceLocator.resolve(classLoader, "fixture");
+            assertThat(second).isNotSameAs(first);
+            assertThat(second.lastModified()).isEqualTo(fixture.lastModified());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package nickel.test.inject;
+
+import nickel.test.annotations.BindingContext;
+import nickel.test.annotations.NickelTestResource;
+import org.junit.Test;
+
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InjectionPlanTest {
+    @Test
+    public void planIsCachedPerClass() {
+        assertThat(InjectionPlan.forClass(SubClass.class))
+            .isSameAs(InjectionPlan.forClass(SubClass.class));
+    }
+
+    @Test
+    public void inheritedFields() {
+        assertThat(InjectionPlan.forClass(SubClass.class).injectionPoints().stream()
+            .map(injectionPoint -> injectionPoint.resourceSpec().elementName())
+            .collect(Collectors.toList()))
+            .containsExactly("subValue", "baseValue");
+    }
+
+    @Test
+    public void injectFields() {
+        SubClass instance = new SubClass();
+        for (InjectionPlan.InjectionPoint injectionPoint : InjectionPlan.forClass(SubClass.class).injectionPoints()) {
+            injectionPoint.inject(instance, injectionPoint.field().getName());
+        }
+
+        assertThat(instance.subValue).isEqualTo("subValue");
+        assertThat(instance.baseValue).isEqualTo("baseValue");
+    }
+
+    @Test
+    public void indexedFields() {
+        // The index is generated by FixtureIndexProcessor when the tests are compiled. Inherited fields are named
+        // after the runtime class, so their index entries don't apply.
+        assertThat(InjectionPlan.forClass(SubClass.class).injectionPoints().stream()
+            .map(injectionPoint -> injectionPoint.resourceSpec().indexedPath())
+            .collect(Collectors.toList()))
+            .containsExactly("/SubClass/other", null);
+    }
+
+    @Test
+    public void bindingContextFields() {
+        BaseClass instance = new BaseClass();
+        instance.context = "context";
+
+        assertThat(InjectionPlan.forClass(SubClass.class).bindingContextFields(CharSequence.class))
+            .hasSize(1)
+            .allSatisfy(bindingContextField -> assertThat(bindingContextField.get(instance)).isEqualTo("context"));
+        assertThat(InjectionPlan.forClass(SubClass.class).bindingContextFields(Integer.class))
+            .isEmpty();
+    }
+
+    static class BaseClass {
+        @NickelTestResource
+        String baseValue;
+
+        @BindingContext
+        private String context;
+    }
+
+    static class SubClass extends BaseClass {
+        @NickelTestResource(resourceName = "other")
+        private String subValue;
+    }
+}
@@ -2,8 +2,12 @@ package nickel.test.inject;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import nickel.test.BeanClass;
+import nickel.test.Lazy;
+import nickel.test.NickelTestException;
 import nickel.test.annotations.BindingContext;
 import nickel.test.annotations.NickelTestResource;
+import nickel.test.annotations.PrefetchResources;
 import org.junit.Before;
 import org.junit.Test;
 import org.yaml.snakeyaml.Yaml;
@@ -11,11 +15,18 @@ import org.yaml.snakeyaml.constructor.Constructor;
 import org.yaml.snakeyaml.nodes.Node;
 import org.yaml.snakeyaml.nodes.ScalarNode;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -80,6 +91,21 @@ public class NickelTestInjectorTest {
         assertThat(jsonInstance).isEqualTo(expectedInstance);
     }
 
+    @Test
+    public void bindingContextReadOnEachLoad() throws Exception {
+        NickelTestResource jsonResource = getClass().getDeclaredField("jsonInstance")
+            .getAnnotation(NickelTestResource.class);
+
+        objectMapper = null;
+        assertThatThrownBy(() -> nickelTestInjector.loadResource(jsonResource, TestType.class, "jsonInstance"))
+            .isInstanceOf(NickelTestException.class);
+
+        objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule());
+        assertThat(nickelTestInjector.loadResource(jsonResource, TestType.class, "jsonInstance"))
+            .isEqualTo(new TestType(Instant.parse("2019-07-27T21:20:00.000Z")));
+    }
+
     @Test
     public void injectJsonListField() {
         assertThat(jsonListInstance).isNull();
@@ -175,6 +201,123 @@ public class NickelTestInjectorTest {
             .hasMessageEndingWith(" without binding");
     }
 
+    @Test
+    public void lazyFields() {
+        LazyClass lazyClass = new LazyClass();
+        NickelTestInjector.injectAllFields(lazyClass);
+
+        assertThat(lazyClass.lazyProperties.isLoaded()).isFalse();
+        assertThat(lazyClass.lazyProperties.get())
+            .containsEntry("when", "2019-07-27T21:20:00.000Z")
+            .isSameAs(lazyClass.lazyProperties.get());
+        assertThat(lazyClass.lazyString.get())
+            .startsWith("when:");
+
+        assertThatThrownBy(() -> lazyClass.notLoaded.get())
+            .isInstanceOf(NullPointerException.class)
+            .hasMessage("/NickelTestInjectorTest/notLoaded");
+    }
+
+    @Test
+    public void prefetchFields() {
+        PrefetchClass prefetchClass = new PrefetchClass();
+        NickelTestInjector.injectAllFields(prefetchClass);
+
+        TestType expectedInstance = new TestType(Instant.parse("2019-07-27T21:20:00.000Z"));
+        assertThat(prefetchClass.jsonInstance).isEqualTo(expectedInstance);
+        assertThat(prefetchClass.jaxbInstance).isEqualTo(expectedInstance);
+        assertThat(prefetchClass.yamlInstance).isEqualTo(expectedInstance);
+        assertThat(prefetchClass.stringInstance).isEqualTo("when: 2019-07-27T21:20:00.000Z\n");
+    }
+
+    @Test
+    public void prefetchFailure() {
+        PrefetchFailClass prefetchFailClass = new PrefetchFailClass();
+
+        assertThatThrownBy(() -> NickelTestInjector.injectAllFields(prefetchFailClass))
+            .isInstanceOf(NickelTestException.class)
+            .hasMessageEndingWith("$FailClass.notBound")
+            .hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(prefetchFailClass.stringInstance).isNull();
+    }
+
+    @Test
+    public void bufferAndChannelFields() throws IOException {
+        ChannelClass channelClass = new ChannelClass();
+        NickelTestInjector.injectAllFields(channelClass);
+
+        byte[] expected = "when: 2019-07-27T21:20:00.000Z\n".getBytes(StandardCharsets.UTF_8);
+        try (FileChannel fileChannel = channelClass.fileChannel;
+             ReadableByteChannel channel = channelClass.channel) {
+            assertThat(channelClass.buffer.isReadOnly()).isTrue();
+            assertThat(channelClass.buffer).isEqualTo(ByteBuffer.wrap(expected));
+            assertThat(fileChannel.size()).isEqualTo(expected.length);
+            assertThat(channel).isInstanceOf(FileChannel.class);
+        }
+    }
+
+    @Test
+    public void closeResources() throws IOException {
+        ChannelClass channelClass = new ChannelClass();
+        NickelTestInjector injector = new NickelTestInjector(channelClass);
+        injector.injectAllFields();
+
+        assertThat(channelClass.fileChannel.isOpen()).isTrue();
+        assertThat(channelClass.channel.isOpen()).isTrue();
+
+        injector.closeResources();
+
+        assertThat(channelClass.fileChannel.isOpen()).isFalse();
+        assertThat(channelClass.channel.isOpen()).isFalse();
+    }
+
+    @Test
+    public void streamAndIteratorFields() {
+        StreamClass streamClass = new StreamClass();
+        NickelTestInjector.injectAllFields(streamClass);
+
+        try (Stream<BeanClass> stream = streamClass.stream) {
+            assertThat(stream).containsExactly(new BeanClass(1), new BeanClass(2));
+        }
+        assertThat(streamClass.iterator).containsExactly(new BeanClass(1), new BeanClass(2));
+    }
+
+    @Test
+    public void closeStreamsAndIterators() throws IOException {
+        StreamClass streamClass = new StreamClass();
+        JsonLinesClass jsonLinesClass = new JsonLinesClass();
+        NickelTestInjector streamInjector = new NickelTestInjector(streamClass);
+        NickelTestInjector jsonLinesInjector = new NickelTestInjector(jsonLinesClass);
+        streamInjector.injectAllFields();
+        jsonLinesInjector.injectAllFields();
+
+        streamInjector.closeResources();
+        jsonLinesInjector.closeResources();
+
+        assertThatThrownBy(() -> streamClass.stream.count()).isInstanceOf(IllegalStateException.class);
+        assertThat(streamClass.iterator.hasNext()).isFalse();
+        assertThatThrownBy(() -> jsonLinesClass.stream.count()).isInstanceOf(IllegalStateException.class);
+        assertThat(jsonLinesClass.iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void jsonLinesFields() {
+        JsonLinesClass jsonLinesClass = new JsonLinesClass();
+        NickelTestInjector.injectAllFields(jsonLinesClass);
+
+        try (Stream<BeanClass> stream = jsonLinesClass.stream) {
+            assertThat(stream).containsExactly(new BeanClass(1), new BeanClass(2));
+        }
+        assertThat(jsonLinesClass.iterator).containsExactly(new BeanClass(1), new BeanClass(2));
+    }
+
+    @Test
+    public void streamWithoutElementType() {
+        assertThatThrownBy(() -> NickelTestInjector.injectAllFields(new RawStreamClass()))
+            .isInstanceOf(NickelTestException.class)
+            .hasMessageStartingWith("No element type given for ");
+    }
+
     public static class TestType {
         private Instant when;
 
@@ -229,4 +372,112 @@ public class NickelTestInjectorTest {
         @NickelTestResource
         private TestType notBound;
     }
+
+    @PrefetchResources
+    static class PrefetchClass {
+        @BindingContext
+        private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule());
+
+        @BindingContext
+        private final Yaml yaml = new Yaml(new TestTypeConstructor());
+
+        @NickelTestResource(resourcePath = "/NickelTestInjectorTest", with = NickelTestResource.Binding.jackson)
+        private TestType jsonInstance;
+
+        @NickelTestResource(resourcePath = "/NickelTestInjectorTest", with = NickelTestResource.Binding.jaxb)
+        private TestType jaxbInstance;
+
+        @NickelTestResource(resourcePath = "/NickelTestInjectorTest", with = NickelTestResource.Binding.yaml)
+        private TestType yamlInstance;
+
+        @NickelTestResource(
+            resourcePath = "/NickelTestInjectorTest",
+            resourceName = "yamlInstance",
+            resourceExtension = ".yaml")
+        private String stringInstance;
+    }
+
+    @PrefetchResources
+    static class PrefetchFailClass extends FailClass {
+        @NickelTestResource(
+            resourcePath = "/NickelTestInjectorTest",
+            resourceName = "yamlInstance",
+            resourceExtension = ".yaml")
+        private String stringInstance;
+    }
+
+    static class StreamClass {
+        @NickelTestResource(
+            resourcePath = "/NickelTestInjectorTest",
+            resourceName = "beanArray",
+            with = NickelTestResource.Binding.jackson)
+        private Stream<BeanClass> stream;
+
+        @NickelTestResource(
+            resourcePath = "/NickelTestInjectorTest",
+            resourceName = "beanArray",
+            with = NickelTestResource.Binding.jackson)
+        private Iterator<BeanClass> iterator;
+    }
+
+    static class JsonLinesClass {
+        @NickelTestResource(
+            resourcePath = "/NickelTestInjectorTest",
+            resourceName = "records",
+            with = NickelTestResource.Binding.jsonLines)
+        private Stream<BeanClass> stream;
+
+        @NickelTestResource(
+            resourcePath = "/NickelTestInjectorTest",
+            resourceName = "records",
+            with = NickelTestResource.Binding.jsonLines)
+        private Iterator<BeanClass> iterator;
+    }
+
+    static class RawStreamClass {
+        @SuppressWarnings("rawtypes")
+        @NickelTestResource(
+            resourcePath = "/NickelTestInjectorTest",
+            resourceName = "beanArray",
+            with = NickelTestResource.Binding.jackson)
+        private Stream stream;
+    }
+
+    static class ChannelClass {
+        @NickelTestResource(
+            resourcePath = "/NickelTestInjectorTest",
+            resourceName = "yamlInstance",
+            resourceExtension = ".yaml")
+        private ByteBuffer buffer;
+
+        @NickelTestResource(
+            resourcePath = "/NickelTestInjectorTest",
+            resourceName = "yamlInstance",
+            resourceExtension = ".yaml")
+        private FileChannel fileChannel;
+
+        @NickelTestResource(
+            resourcePath = "/NickelTestInjectorTest",
+            resourceName = "yamlInstance",
+            resourceExtension = ".yaml")
+        private ReadableByteChannel channel;
+    }
+
+    static class LazyClass {
+        @NickelTestResource(
+            resourcePath = "/NickelTestInjectorTest",
+            resourceName = "yamlInstance",
+            resourceExtension = ".yaml")
+        private Lazy<Properties> lazyProperties;
+
+        @NickelTestResource(
+            resourcePath = "/NickelTestInjectorTest",
+            resourceName = "yamlInstance",
+            resourceExtension = ".yaml")
+        private Supplier<String> lazyString;
+
+        @NickelTestResource(resourcePath = "/NickelTestInjectorTest")
+        private Lazy<String> notLoaded;
+    }
 }
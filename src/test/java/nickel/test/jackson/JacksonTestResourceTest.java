@@ -1,19 +1,27 @@
 package nickel.test.jackson;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import nickel.test.BeanClass;
+import nickel.test.NickelTestException;
 import org.junit.Test;
 
 import java.io.IOException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Stream;
 
 import static nickel.test.jackson.JacksonTestResource.jacksonTestResource;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class JacksonTestResourceTest {
     @Test
@@ -55,4 +63,110 @@ public class JacksonTestResourceTest {
 
         assertThat(instant).isEqualTo(expected);
     }
+
+    @Test
+    public void jsonIterator() throws ClassNotFoundException, IOException {
+        try (MappingIterator<BeanClass> iterator = jacksonTestResource()
+            .forTestClass()
+            .resourceName("beanArray")
+            .asJsonIterator(BeanClass.class)) {
+            assertThat(iterator.next()).isEqualTo(new BeanClass(1));
+            assertThat(iterator.next()).isEqualTo(new BeanClass(2));
+            assertThat(iterator.next()).isEqualTo(new BeanClass(3));
+            assertThat(iterator.hasNext()).isFalse();
+        }
+    }
+
+    @Test
+    public void jsonStream() throws ClassNotFoundException, IOException {
+        try (Stream<Map<String, Integer>> stream = jacksonTestResource()
+            .forTestClass()
+            .resourceName("beanArray")
+            .asJsonStream(new TypeReference<Map<String, Integer>>() {
+            })) {
+            assertThat(stream.mapToInt(map -> map.get("value")).sum()).isEqualTo(6);
+        }
+    }
+
+    @Test
+    public void jsonStreamNullElements() throws ClassNotFoundException, IOException {
+        try (Stream<Object> stream = jacksonTestResource()
+            .forTestMethod()
+            .asJsonStream(Object.class)) {
+            assertThat(stream.spliterator().hasCharacteristics(Spliterator.NONNULL)).isFalse();
+        }
+        try (Stream<Object> stream = jacksonTestResource()
+            .forTestMethod()
+            .asJsonStream(Object.class)) {
+            assertThat(stream).containsExactly("one", null, "three");
+        }
+    }
+
+    @Test
+    public void jsonIteratorClose() throws ClassNotFoundException, IOException {
+        MappingIterator<BeanClass> iterator = jacksonTestResource()
+            .forTestClass()
+            .resourceName("beanArray")
+            .asJsonIterator(BeanClass.class);
+
+        assertThat(iterator.next()).isEqualTo(new BeanClass(1));
+        iterator.close();
+        assertThat(iterator.getParser().isClosed()).isTrue();
+    }
+
+    @Test
+    public void jsonLines() throws ClassNotFoundException, IOException {
+        try (Stream<BeanClass> records = jacksonTestResource()
+            .forTestMethod()
+            .asJsonLines(BeanClass.class)) {
+            assertThat(records).containsExactly(new BeanClass(1), new BeanClass(2), new BeanClass(3));
+        }
+    }
+
+    @Test
+    public void jsonLinesAlternative() throws ClassNotFoundException, IOException {
+        try (Stream<BeanClass> records = jacksonTestResource()
+            .forTestMethod()
+            .asJsonLines(BeanClass.class)) {
+            assertThat(records).containsExactly(new BeanClass(4), new BeanClass(5));
+        }
+    }
+
+    @Test
+    public void malformedJsonLines() throws ClassNotFoundException, IOException {
+        List<Long> malformedLines = new ArrayList<>();
+        try (Stream<BeanClass> records = jacksonTestResource()
+            .forTestMethod()
+            .onMalformedLine((lineNumber, line, cause) -> malformedLines.add(lineNumber))
+            .asJsonLines(BeanClass.class)) {
+            assertThat(records).containsExactly(new BeanClass(1), new BeanClass(3), new BeanClass(5));
+        }
+        assertThat(malformedLines).containsExactly(2L, 4L);
+    }
+
+    @Test
+    public void trailingTokenJsonLines() throws ClassNotFoundException, IOException {
+        List<Long> malformedLines = new ArrayList<>();
+        try (Stream<BeanClass> records = jacksonTestResource()
+            .forTestMethod()
+            .onMalformedLine((lineNumber, line, cause) -> malformedLines.add(lineNumber))
+            .asJsonLines(BeanClass.class)) {
+            assertThat(records).containsExactly(new BeanClass(1), new BeanClass(4));
+        }
+        assertThat(malformedLines).containsExactly(2L, 3L);
+    }
+
+    @Test
+    public void malformedJsonLinesFail() throws ClassNotFoundException, IOException {
+        try (Stream<BeanClass> records = jacksonTestResource()
+            .forTestClass()
+            .resourceName("malformedJsonLines")
+            .asJsonLines(BeanClass.class)) {
+            Iterator<BeanClass> iterator = records.iterator();
+            assertThat(iterator.next()).isEqualTo(new BeanClass(1));
+            assertThatThrownBy(iterator::next)
+                .isInstanceOf(NickelTestException.class)
+                .hasMessageStartingWith("Malformed JSON on line 2: ");
+        }
+    }
 }
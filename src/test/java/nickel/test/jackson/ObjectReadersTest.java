@@ -0,0 +1,52 @@
+package nickel.test.jackson;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nickel.test.BeanClass;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ObjectReadersTest {
+    @Test
+    public void readerPerType() {
+        ObjectMapper mapper = ObjectReaders.DEFAULT_MAPPER;
+
+        assertThat(ObjectReaders.readerFor(mapper, BeanClass.class))
+            .isSameAs(ObjectReaders.readerFor(mapper, BeanClass.class));
+        assertThat(ObjectReaders.readerFor(mapper, BeanClass.class))
+            .isNotSameAs(ObjectReaders.readerFor(new ObjectMapper(), BeanClass.class));
+    }
+
+    @Test
+    public void callerMapperNotRetained() throws InterruptedException {
+        WeakReference<ObjectMapper> mapper = readWithNewMapper();
+
+        for (int i = 0; i < 50 && mapper.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertThat(mapper.get()).isNull();
+    }
+
+    private static WeakReference<ObjectMapper> readWithNewMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        assertThat(ObjectReaders.readerFor(mapper, BeanClass.class).getValueType().getRawClass())
+            .isEqualTo(BeanClass.class);
+        return new WeakReference<>(mapper);
+    }
+
+    @Test
+    public void javaTypeAndGenericType() {
+        ObjectMapper mapper = new ObjectMapper();
+        TypeReference<List<BeanClass>> typeReference = new TypeReference<List<BeanClass>>() {
+        };
+
+        assertThat(ObjectReaders.readerFor(mapper, mapper.constructType(typeReference.getType())).getValueType())
+            .isEqualTo(ObjectReaders.readerFor(mapper, typeReference.getType()).getValueType());
+    }
+}
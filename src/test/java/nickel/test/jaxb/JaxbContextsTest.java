@@ -0,0 +1,58 @@
+package nickel.test.jaxb;
+
+import nickel.test.BeanClass;
+import org.junit.Test;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import java.io.StringReader;
+import java.lang.ref.WeakReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JaxbContextsTest {
+    @Test
+    public void contextPerClass() throws JAXBException {
+        assertThat(JaxbContexts.contextFor(BeanClass.class))
+            .isSameAs(JaxbContexts.contextFor(BeanClass.class));
+    }
+
+    @Test
+    public void pooledUnmarshallers() throws JAXBException {
+        Unmarshaller unmarshaller = JaxbContexts.borrowUnmarshaller(BeanClass.class);
+
+        Unmarshaller concurrentUnmarshaller = JaxbContexts.borrowUnmarshaller(BeanClass.class);
+        assertThat(concurrentUnmarshaller)
+            .isNotSameAs(unmarshaller);
+        JaxbContexts.returnUnmarshaller(BeanClass.class, concurrentUnmarshaller);
+
+        JaxbContexts.returnUnmarshaller(BeanClass.class, unmarshaller);
+        Unmarshaller reusedUnmarshaller = JaxbContexts.borrowUnmarshaller(BeanClass.class);
+        assertThat(reusedUnmarshaller)
+            .isSameAs(unmarshaller);
+        JaxbContexts.returnUnmarshaller(BeanClass.class, reusedUnmarshaller);
+    }
+
+    @Test
+    public void callerContextNotRetained() throws JAXBException, InterruptedException {
+        WeakReference<JAXBContext> context = unmarshalWithNewContext();
+
+        for (int i = 0; i < 50 && context.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertThat(context.get()).isNull();
+    }
+
+    private static WeakReference<JAXBContext> unmarshalWithNewContext() throws JAXBException {
+        JAXBContext context = JAXBContext.newInstance(BeanClass.class);
+        Source source = new StreamSource(new StringReader("<BeanClass><value>7</value></BeanClass>"));
+        assertThat(JaxbContexts.unmarshal(context, source, BeanClass.class))
+            .isEqualTo(new BeanClass(7));
+        return new WeakReference<>(context);
+    }
+}
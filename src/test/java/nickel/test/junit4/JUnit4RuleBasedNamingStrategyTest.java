@@ -28,4 +28,24 @@ public class JUnit4RuleBasedNamingStrategyTest {
         assertThat(namingStrategy.suiteName(true))
             .isEqualTo("nickel.test.junit4.JUnit4RuleBasedNamingStrategyTest");
     }
+
+    @Test
+    public void runnerDecoratedName() {
+        Description description = Description.createTestDescription(SubClass.class, "inheritedTest[0: first]");
+        JUnit4RuleBasedNamingStrategy namingStrategy = new JUnit4RuleBasedNamingStrategy(description);
+
+        assertThat(namingStrategy.testName())
+            .contains("inheritedTest");
+        assertThat(namingStrategy.testIdentity().testClass())
+            .isEqualTo(SubClass.class);
+    }
+
+    public static class BaseClass {
+        @Test
+        public void inheritedTest() {
+        }
+    }
+
+    public static class SubClass extends BaseClass {
+    }
 }
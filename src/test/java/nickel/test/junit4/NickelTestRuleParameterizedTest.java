@@ -0,0 +1,41 @@
+package nickel.test.junit4;
+
+import nickel.test.strategy.CurrentNamingStrategy;
+import nickel.test.strategy.ResourceNamingStrategy;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static nickel.test.NickelTestResource.testResource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(Parameterized.class)
+public class NickelTestRuleParameterizedTest {
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> parameters() {
+        return Arrays.asList(new Object[]{"first"}, new Object[]{"second"});
+    }
+
+    @Parameterized.Parameter
+    public String parameter;
+
+    @Rule
+    public NickelTestRule nickelTestRule = new NickelTestRule();
+
+    @Test
+    public void parameterizedResource() throws IOException {
+        assertThat(CurrentNamingStrategy.boundStrategy().flatMap(ResourceNamingStrategy::testName))
+            .contains("parameterizedResource");
+
+        assertThat(testResource()
+            .forTestMethod()
+            .resourceExtension(".txt")
+            .asString("UTF-8"))
+            .isEqualTo("parameterized\n");
+    }
+}
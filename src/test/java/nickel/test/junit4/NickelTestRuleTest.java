@@ -1,12 +1,22 @@
 package nickel.test.junit4;
 
 import nickel.test.annotations.NickelTestResource;
+import nickel.test.strategy.CurrentNamingStrategy;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
 
 import javax.xml.bind.JAXBException;
 import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -69,6 +79,66 @@ public class NickelTestRuleTest {
         assertThat(yamlInstance).isEqualTo(new TestType("yaml"));
     }
 
+    @Test
+    public void ruleSharedBetweenThreads() throws Exception {
+        NickelTestRule sharedRule = new NickelTestRule();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tests = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                String testName = "test" + i;
+                Statement test = new Statement() {
+                    @Override
+                    public void evaluate() {
+                        assertThat(sharedRule.namingStrategy().testName()).contains(testName);
+                        assertThat(CurrentNamingStrategy.currentStrategy().testName()).contains(testName);
+                    }
+                };
+                Description description = Description.createTestDescription(NickelTestRuleTest.class, testName);
+                tests.add(executor.submit(() -> {
+                    try {
+                        sharedRule.apply(test, description).evaluate();
+                    } catch (Throwable t) {
+                        throw new AssertionError(t);
+                    }
+                }));
+            }
+            for (Future<?> test : tests) {
+                test.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void injectedChannelsClosed() throws Throwable {
+        NickelTestRule rule = new NickelTestRule();
+        ChannelHolder holder = new ChannelHolder();
+        Statement test = new Statement() {
+            @Override
+            public void evaluate() {
+                rule.injectResources(holder);
+                assertThat(holder.channel.isOpen()).isTrue();
+            }
+        };
+
+        rule.apply(test, Description.createTestDescription(NickelTestRuleTest.class, "channelTest")).evaluate();
+
+        assertThat(holder.channel.isOpen()).isFalse();
+    }
+
+    @Test
+    public void strategyBoundDuringTest() {
+        assertThat(CurrentNamingStrategy.boundStrategy().map(strategy -> strategy.testName()))
+            .contains(Optional.of("strategyBoundDuringTest"));
+    }
+
+    public static class ChannelHolder {
+        @NickelTestResource(resourcePath = "/NickelTestRuleTest", resourceName = "testResource.txt")
+        private ReadableByteChannel channel;
+    }
+
     public static class TestType {
         private String v;
 
@@ -1,5 +1,6 @@
 package nickel.test.junit5;
 
+import nickel.test.strategy.TestIdentity;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -21,4 +22,12 @@ class JUnit5StackBasedNamingStrategyTest {
         assertThat(new JUnit5StackBasedNamingStrategy().suiteName(true))
             .isEqualTo(getClass().getName());
     }
+
+    @Test
+    void testIdentity() {
+        TestIdentity identity = new JUnit5StackBasedNamingStrategy().testIdentity();
+
+        assertThat(identity.testClass()).isEqualTo(getClass());
+        assertThat(identity.testName()).contains("testIdentity");
+    }
 }
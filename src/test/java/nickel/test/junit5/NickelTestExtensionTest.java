@@ -1,13 +1,24 @@
 package nickel.test.junit5;
 
+import nickel.test.Lazy;
 import nickel.test.annotations.NickelTestResource;
+import nickel.test.strategy.CurrentNamingStrategy;
+import nickel.test.strategy.ResourceNamingStrategy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import static nickel.test.NickelTestResource.testResource;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @ExtendWith(NickelTestExtension.class)
@@ -15,6 +26,20 @@ class NickelTestExtensionTest {
     @NickelTestResource
     private String stringValue;
 
+    private static final List<ReadableByteChannel> injectedChannels = new CopyOnWriteArrayList<>();
+
+    private Optional<ResourceNamingStrategy> beforeEachStrategy;
+
+    @AfterAll
+    static void channelsClosed() {
+        assertThat(injectedChannels).isNotEmpty().noneMatch(ReadableByteChannel::isOpen);
+    }
+
+    @BeforeEach
+    void captureStrategy() {
+        beforeEachStrategy = CurrentNamingStrategy.boundStrategy();
+    }
+
     @Test
     void validateFieldInjection() {
         assertThat(stringValue)
@@ -33,4 +58,53 @@ class NickelTestExtensionTest {
             streamValue.close();
         }
     }
+
+    @Test
+    void methodScopedParameterInjection(@NickelTestResource(forTestMethod = true) String value) {
+        assertThat(value)
+            .isEqualTo("method value\n");
+    }
+
+    @Test
+    void lazyParameterInjection(@NickelTestResource(resourceName = "stringValue") Lazy<String> value) {
+        assertThat(value.get())
+            .isEqualTo("value\n");
+    }
+
+    @Test
+    void channelParameterInjection(@NickelTestResource(resourceName = "stringValue") ReadableByteChannel channel) {
+        assertThat(channel.isOpen()).isTrue();
+        injectedChannels.add(channel);
+    }
+
+    @Test
+    void staticResourceLoad() throws IOException {
+        assertThat(CurrentNamingStrategy.boundStrategy())
+            .containsInstanceOf(JUnit5ExtensionNamingStrategy.class);
+
+        assertThat(testResource()
+            .forTestMethod()
+            .asString("UTF-8"))
+            .isEqualTo("static value\n");
+    }
+
+    @Test
+    void bindsBeforeEach() {
+        assertThat(beforeEachStrategy)
+            .containsInstanceOf(JUnit5ExtensionNamingStrategy.class);
+        assertThat(beforeEachStrategy.get().testName())
+            .contains("bindsBeforeEach");
+    }
+
+    abstract static class InheritedTests {
+        @Test
+        void inheritedTestClass() {
+            assertThat(CurrentNamingStrategy.boundStrategy().get().testIdentity().testClass())
+                .isEqualTo(InheritedTests.class);
+        }
+    }
+
+    @Nested
+    class InheritingTests extends InheritedTests {
+    }
 }
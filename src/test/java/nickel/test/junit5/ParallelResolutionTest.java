@@ -0,0 +1,56 @@
+package nickel.test.junit5;
+
+import nickel.test.annotations.NickelTestResource;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.IOException;
+
+import static nickel.test.NickelTestResource.testResource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many tests, each named after its own resource, running concurrently. Every way of naming a resource has to resolve
+ * the test running on the current thread.
+ */
+@Execution(ExecutionMode.CONCURRENT)
+@ExtendWith(NickelTestExtension.class)
+class ParallelResolutionTest {
+    private static final int REPETITIONS = 50;
+
+    @NickelTestResource(forTestMethod = true)
+    private String fieldValue;
+
+    @RepeatedTest(REPETITIONS)
+    void alpha(@NickelTestResource(forTestMethod = true) String parameterValue, TestInfo testInfo) throws IOException {
+        assertResolved(parameterValue, testInfo);
+    }
+
+    @RepeatedTest(REPETITIONS)
+    void beta(@NickelTestResource(forTestMethod = true) String parameterValue, TestInfo testInfo) throws IOException {
+        assertResolved(parameterValue, testInfo);
+    }
+
+    @RepeatedTest(REPETITIONS)
+    void gamma(@NickelTestResource(forTestMethod = true) String parameterValue, TestInfo testInfo) throws IOException {
+        assertResolved(parameterValue, testInfo);
+    }
+
+    @RepeatedTest(REPETITIONS)
+    void delta(@NickelTestResource(forTestMethod = true) String parameterValue, TestInfo testInfo) throws IOException {
+        assertResolved(parameterValue, testInfo);
+    }
+
+    private void assertResolved(String parameterValue, TestInfo testInfo) throws IOException {
+        String testName = testInfo.getTestMethod()
+            .orElseThrow(IllegalStateException::new)
+            .getName();
+
+        assertThat(fieldValue).isEqualTo(testName);
+        assertThat(parameterValue).isEqualTo(testName);
+        assertThat(testResource().forTestMethod().asString("UTF-8")).isEqualTo(testName);
+    }
+}
@@ -0,0 +1,57 @@
+package nickel.test.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NanosHistogramTest {
+    @Test
+    void buckets() {
+        for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 1000, 123_456_789L, Long.MAX_VALUE}) {
+            int bucket = NanosHistogram.bucket(value);
+            assertThat(NanosHistogram.upperBound(bucket)).isGreaterThanOrEqualTo(value);
+            if (bucket > 0) {
+                assertThat(NanosHistogram.upperBound(bucket - 1)).isLessThan(value);
+            }
+        }
+        assertThat(NanosHistogram.upperBound(NanosHistogram.bucket(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void percentiles() {
+        NanosHistogram histogram = new NanosHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        assertThat(histogram.count()).isEqualTo(1000);
+        assertThat(histogram.maxNanos()).isEqualTo(1_000_000);
+        assertThat(histogram.meanNanos()).isEqualTo(500_500.0);
+        assertThat((double) histogram.percentileNanos(50)).isCloseTo(500_000, within(62_500.0));
+        assertThat((double) histogram.percentileNanos(99)).isCloseTo(990_000, within(123_750.0));
+        assertThat(histogram.percentileNanos(100)).isEqualTo(1_000_000);
+    }
+
+    @Test
+    void empty() {
+        NanosHistogram histogram = new NanosHistogram();
+
+        assertThat(histogram.percentileNanos(50)).isZero();
+        assertThat(histogram.meanNanos()).isZero();
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentileNanos(101));
+    }
+
+    @Test
+    void reset() {
+        NanosHistogram histogram = new NanosHistogram();
+        histogram.record(42);
+        histogram.record(-1);
+        histogram.reset();
+
+        assertThat(histogram.count()).isZero();
+        assertThat(histogram.maxNanos()).isZero();
+        assertThat(histogram.percentileNanos(99)).isZero();
+    }
+}
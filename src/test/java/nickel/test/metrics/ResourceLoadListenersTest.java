@@ -0,0 +1,161 @@
+package nickel.test.metrics;
+
+import nickel.test.BeanClass;
+import nickel.test.CacheMode;
+import nickel.test.FixtureCache;
+import nickel.test.annotations.NickelTestResource;
+import nickel.test.inject.NickelTestInjector;
+import nickel.test.metrics.ResourceLoadEvent.CacheOutcome;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static nickel.test.NickelTestResource.testResource;
+import static nickel.test.annotations.NickelTestResource.Binding.jackson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceLoadListenersTest {
+    private final List<ResourceLoadEvent> events = new CopyOnWriteArrayList<>();
+    private final ResourceLoadListener listener = event -> {
+        // Loads for this class, and the classes nested in it
+        if (event.testClass().getName().startsWith(ResourceLoadListenersTest.class.getName())) {
+            events.add(event);
+        }
+    };
+
+    @BeforeEach
+    void registerListener() {
+        ResourceLoadListeners.register(listener);
+    }
+
+    @AfterEach
+    void unregisterListener() {
+        ResourceLoadListeners.unregister(listener);
+    }
+
+    @Test
+    void uncachedProperties() throws IOException {
+        Properties properties = testResource().forTestMethod().asProperties();
+
+        assertThat(properties).containsEntry("value1", "1");
+        assertThat(events).hasSize(1);
+
+        ResourceLoadEvent event = events.get(0);
+        assertThat(event.testName()).contains("uncachedProperties");
+        assertThat(event.elementName()).isEmpty();
+        assertThat(event.resourcePath()).isEqualTo("ResourceLoadListenersTest/uncachedProperties.properties");
+        assertThat(event.binding()).isEqualTo("properties");
+        assertThat(event.targetType()).isEqualTo(Properties.class);
+        assertThat(event.bytesRead()).isEqualTo(18);
+        assertThat(event.resolveNanos()).isPositive();
+        assertThat(event.readNanos()).isPositive();
+        assertThat(event.parseNanos()).isPositive();
+        assertThat(event.cacheOutcome()).isEqualTo(CacheOutcome.uncached);
+    }
+
+    @Test
+    void cachedProperties() throws IOException {
+        FixtureCache.invalidateAll();
+
+        testResource().forTestMethod().cached(CacheMode.copy).asProperties();
+        testResource().forTestMethod().cached(CacheMode.copy).asProperties();
+
+        assertThat(events).extracting(ResourceLoadEvent::cacheOutcome)
+            .containsExactly(CacheOutcome.miss, CacheOutcome.hit);
+        assertThat(events).extracting(ResourceLoadEvent::bytesRead)
+            .containsExactly(9L, 0L);
+        assertThat(events.get(1).resolveNanos()).isZero();
+    }
+
+    @Test
+    void streamed() throws IOException {
+        try (InputStream stream = testResource().forTestMethod().resourceExtension(".txt").asStream()) {
+            assertThat(stream).hasContent("streamed");
+        }
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).binding()).isEqualTo("stream");
+        assertThat(events.get(0).bytesRead()).isEqualTo(-1);
+    }
+
+    @Test
+    void injected() {
+        Injected injected = new Injected();
+        new NickelTestInjector(injected).injectAllFields();
+
+        assertThat(injected.bean).isEqualTo(new BeanClass(5));
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).testClass()).isEqualTo(Injected.class);
+        assertThat(events.get(0).elementName()).contains("bean");
+        assertThat(events.get(0).binding()).isEqualTo("jackson");
+        assertThat(events.get(0).targetType()).isEqualTo(BeanClass.class);
+    }
+
+    @Test
+    void aggregated() throws IOException {
+        ResourceLoadMetrics metrics = new ResourceLoadMetrics();
+        ResourceLoadListeners.register(metrics);
+        try {
+            testResource().resourcePath("/ResourceLoadListenersTest").resourceName("uncachedProperties")
+                .asProperties();
+            testResource().resourcePath("/ResourceLoadListenersTest").resourceName("streamed.txt")
+                .asString("UTF-8");
+            testResource().resourcePath("/ResourceLoadListenersTest").resourceName("streamed.txt")
+                .asString("UTF-8");
+        } finally {
+            ResourceLoadListeners.unregister(metrics);
+        }
+
+        assertThat(metrics.overall().loads()).isEqualTo(3);
+        assertThat(metrics.overall().bytesRead()).isEqualTo(18 + 8 + 8);
+        assertThat(metrics.overall().totalNanos().count()).isEqualTo(3);
+        assertThat(metrics.byBinding()).containsOnlyKeys("properties", "string:UTF-8");
+        assertThat(metrics.byBinding().get("string:UTF-8").loads()).isEqualTo(2);
+
+        metrics.reset();
+        assertThat(metrics.overall().loads()).isZero();
+        assertThat(metrics.byBinding()).isEmpty();
+    }
+
+    @Test
+    void failingListenerSkipped() throws IOException {
+        ResourceLoadListener failing = event -> {
+            throw new IllegalStateException("listener failure");
+        };
+        List<ResourceLoadEvent> later = new CopyOnWriteArrayList<>();
+        ResourceLoadListener laterListener = later::add;
+        ResourceLoadListeners.register(failing);
+        ResourceLoadListeners.register(laterListener);
+        try {
+            Properties properties = testResource().resourcePath("/ResourceLoadListenersTest")
+                .resourceName("uncachedProperties")
+                .asProperties();
+
+            assertThat(properties).containsEntry("value1", "1");
+        } finally {
+            ResourceLoadListeners.unregister(failing);
+            ResourceLoadListeners.unregister(laterListener);
+        }
+
+        assertThat(events).hasSize(1);
+        assertThat(later).hasSize(1);
+    }
+
+    @Test
+    void disabledWithoutListeners() {
+        assertThat(ResourceLoadListeners.enabled()).isTrue();
+        ResourceLoadListeners.unregister(listener);
+        assertThat(ResourceLoadListeners.enabled()).isFalse();
+    }
+
+    static class Injected {
+        @NickelTestResource(resourcePath = "/ResourceLoadListenersTest", resourceName = "injected", with = jackson)
+        BeanClass bean;
+    }
+}
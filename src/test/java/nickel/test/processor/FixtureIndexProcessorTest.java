@@ -0,0 +1,166 @@
+package nickel.test.processor;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FixtureIndexProcessorTest {
+    private static final String SAMPLE_TEST = String.join("\n",
+        "package sample;",
+        "",
+        "import nickel.test.annotations.NickelTestResource;",
+        "",
+        "public class SampleTest {",
+        "    @NickelTestResource(with = NickelTestResource.Binding.jackson)",
+        "    Object present;",
+        "",
+        "    @NickelTestResource(with = NickelTestResource.Binding.jsonLines)",
+        "    java.util.stream.Stream<Object> records;",
+        "",
+        "    @NickelTestResource(with = NickelTestResource.Binding.jsonLines)",
+        "    java.util.stream.Stream<Object> lines;",
+        "",
+        "    @NickelTestResource(resourcePath = \"fixtures\", resourceExtension = \".txt\")",
+        "    String relative;",
+        "",
+        "    @NickelTestResource",
+        "    String missing;",
+        "",
+        "    @NickelTestResource(forTestMethod = true)",
+        "    String dynamic;",
+        "",
+        "    @org.junit.jupiter.api.Test",
+        "    void test(@NickelTestResource(forTestMethod = true) String parameter) {",
+        "    }",
+        "}",
+        "",
+        "class SampleBase {",
+        "    @NickelTestResource",
+        "    String inherited;",
+        "}");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File sourceFile;
+    private File resourceDir;
+    private File outputDir;
+
+    @Before
+    public void writeSources() throws IOException {
+        sourceFile = new File(temporaryFolder.newFolder("src", "sample"), "SampleTest.java");
+        Files.write(sourceFile.toPath(), SAMPLE_TEST.getBytes(StandardCharsets.UTF_8));
+
+        resourceDir = temporaryFolder.newFolder("resources");
+        writeResource("SampleTest/present.json");
+        writeResource("SampleTest/records.ndjson");
+        writeResource("SampleTest/lines.jsonl");
+        writeResource("sample/fixtures/relative.txt");
+        writeResource("SampleTest/test");
+
+        outputDir = temporaryFolder.newFolder("classes");
+    }
+
+    @Test
+    public void missingFixtureFailsCompile() throws IOException {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        assertThat(compile(diagnostics,
+            "-A" + FixtureIndexProcessor.MISSING_FIXTURES_OPTION + "=error",
+            "-A" + FixtureIndexProcessor.RESOURCE_DIRS_OPTION + "=" + resourceDir.getPath())).isFalse();
+        assertThat(diagnostics.getDiagnostics())
+            .filteredOn(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+            .extracting(diagnostic -> diagnostic.getMessage(null))
+            .containsExactly("Test resource not found: /SampleTest/missing");
+    }
+
+    @Test
+    public void resourceDirsMakeMissingFixturesErrors() throws IOException {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        assertThat(compile(diagnostics,
+            "-A" + FixtureIndexProcessor.RESOURCE_DIRS_OPTION + "=" + resourceDir.getPath())).isFalse();
+    }
+
+    @Test
+    public void missingFixturesWarnByDefault() throws IOException {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        assertThat(compile(diagnostics)).isTrue();
+        assertThat(diagnostics.getDiagnostics())
+            .filteredOn(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.WARNING)
+            .extracting(diagnostic -> diagnostic.getMessage(null))
+            .contains("Test resource not found: /SampleTest/missing")
+            .doesNotContain("Test resource not found: /SampleBase/inherited");
+    }
+
+    @Test
+    public void fixtureIndex() throws IOException {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        assertThat(compile(diagnostics,
+            "-A" + FixtureIndexProcessor.MISSING_FIXTURES_OPTION + "=warning",
+            "-A" + FixtureIndexProcessor.RESOURCE_DIRS_OPTION + "=" + resourceDir.getPath())).isTrue();
+
+        Properties index = new Properties();
+        try (InputStream stream = Files.newInputStream(
+            new File(outputDir, "META-INF/nickel-test/sample.SampleTest.properties").toPath())) {
+            index.load(stream);
+        }
+        assertThat(index)
+            .containsEntry("present.path", "/SampleTest/present.json")
+            .containsEntry("present.binding", "jackson")
+            .doesNotContainKey("present.type")
+            .containsEntry("records.path", "/SampleTest/records.ndjson")
+            .containsEntry("lines.path", "/SampleTest/lines.jsonl")
+            .containsEntry("relative.path", "/sample/fixtures/relative.txt")
+            .containsEntry("missing.path", "/SampleTest/missing")
+            .doesNotContainKey("dynamic.path");
+    }
+
+    private boolean compile(DiagnosticCollector<JavaFileObject> diagnostics, String... processorOptions)
+        throws IOException {
+        List<String> options = new ArrayList<>(Arrays.asList(
+            "-classpath", System.getProperty("java.class.path"),
+            "-d", outputDir.getPath(),
+            "-processor", FixtureIndexProcessor.class.getName()));
+        options.addAll(Arrays.asList(processorOptions));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            return compiler.getTask(
+                null,
+                fileManager,
+                diagnostics,
+                options,
+                null,
+                fileManager.getJavaFileObjects(sourceFile))
+                .call();
+        }
+    }
+
+    private void writeResource(String path) throws IOException {
+        File resource = new File(resourceDir, path);
+        assertThat(resource.getParentFile().mkdirs() || resource.getParentFile().isDirectory()).isTrue();
+        Files.write(resource.toPath(), path.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,176 @@
+package nickel.test.report;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static nickel.test.NickelTestResource.testResource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FixtureReportTest {
+    private static final String JSON = FixtureReport.REPORT_NAME + ".json";
+    private static final String TEXT = FixtureReport.REPORT_NAME + ".txt";
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void clearProperties() {
+        FixtureReport.resetShared();
+        System.clearProperty(FixtureReport.ENABLED_PROPERTY);
+        System.clearProperty(FixtureReport.DIRECTORY_PROPERTY);
+        System.clearProperty(FixtureReport.LOAD_BUDGET_PROPERTY);
+    }
+
+    @Test
+    void aggregatesByTestClassAndResource() throws IOException {
+        FixtureReport report = new FixtureReport(directory, Duration.ZERO, Duration.ZERO);
+        report.start();
+        try {
+            loadFixtures();
+        } finally {
+            report.finish();
+        }
+
+        String json = read(JSON);
+        assertThat(json)
+            .contains("\"testClass\": \"nickel.test.report.FixtureReportTest\"")
+            .contains("\"resourcePath\": \"FixtureReportTest/slow.properties\"")
+            .contains("\"resourcePath\": \"FixtureReportTest/fast.txt\"")
+            .contains("\"loads\": 3,")
+            .contains("\"bytesRead\": 40,")
+            .contains("\"loadBudgetNanos\": 0,")
+            .doesNotContain("\"overBudget\": true");
+
+        List<String> text = Files.readAllLines(directory.resolve(TEXT), StandardCharsets.UTF_8);
+        assertThat(text.get(0)).startsWith("Fixtures: 3 loads, 40 bytes,").endsWith("in 1 test classes, 0 over budget");
+        assertThat(text.get(1)).isEqualTo("Budgets: none per load, none per fixture");
+        assertThat(text.get(3)).startsWith("nickel.test.report.FixtureReportTest: 3 loads, 40 bytes,");
+        assertThat(text.subList(4, 6)).allSatisfy(line -> assertThat(line).doesNotContain("OVER"));
+        assertThat(text).anySatisfy(line -> assertThat(line).contains("FixtureReportTest/slow.properties: 2 loads, 36 bytes"));
+    }
+
+    @Test
+    void flagsFixturesOverBudget() throws IOException {
+        FixtureReport report = new FixtureReport(directory, Duration.ofNanos(1), Duration.ZERO);
+        report.start();
+        try {
+            loadFixtures();
+        } finally {
+            report.finish();
+        }
+
+        assertThat(read(JSON))
+            .contains("\"loadBudgetNanos\": 1,")
+            .doesNotContain("\"overBudget\": false");
+        assertThat(read(TEXT))
+            .contains("2 over budget")
+            .contains("  OVER FixtureReportTest/slow.properties");
+    }
+
+    @Test
+    void emptyReport() throws IOException {
+        new FixtureReport(directory, Duration.ZERO, Duration.ZERO).write();
+
+        assertThat(read(JSON)).contains("\"testClasses\": []");
+        assertThat(read(TEXT)).startsWith("Fixtures: 0 loads, 0 bytes, 0.000 ms in 0 test classes");
+    }
+
+    @Test
+    void executionListenerDisabledByDefault() throws IOException {
+        System.setProperty(FixtureReport.DIRECTORY_PROPERTY, directory.toString());
+
+        FixtureReportExecutionListener listener = new FixtureReportExecutionListener();
+        listener.testPlanExecutionStarted(null);
+        loadFixtures();
+        listener.testPlanExecutionFinished(null);
+
+        assertThat(directory.resolve(TEXT)).doesNotExist();
+    }
+
+    @Test
+    void executionListener() throws IOException {
+        System.setProperty(FixtureReport.ENABLED_PROPERTY, "true");
+        System.setProperty(FixtureReport.DIRECTORY_PROPERTY, directory.toString());
+
+        FixtureReportExecutionListener listener = new FixtureReportExecutionListener();
+        listener.testPlanExecutionStarted(null);
+        loadFixtures();
+        listener.testPlanExecutionFinished(null);
+
+        assertThat(read(TEXT)).startsWith("Fixtures: 3 loads");
+    }
+
+    @Test
+    void runListener() throws IOException {
+        System.setProperty(FixtureReport.DIRECTORY_PROPERTY, directory.toString());
+        System.setProperty(FixtureReport.LOAD_BUDGET_PROPERTY, "0");
+
+        FixtureReportRunListener listener = new FixtureReportRunListener();
+        listener.testRunStarted(Description.EMPTY);
+        loadFixtures();
+        listener.testRunFinished(new Result());
+
+        assertThat(read(TEXT))
+            .startsWith("Fixtures: 3 loads")
+            .contains("Budgets: none per load, 250.000 ms per fixture");
+    }
+
+    @Test
+    void namedAfterProcess() {
+        assertThat(FixtureReport.REPORT_NAME).matches("nickel-test-fixtures-.+");
+    }
+
+    @Test
+    void listenersShareReport() throws IOException {
+        System.setProperty(FixtureReport.ENABLED_PROPERTY, "true");
+        System.setProperty(FixtureReport.DIRECTORY_PROPERTY, directory.toString());
+
+        FixtureReportExecutionListener executionListener = new FixtureReportExecutionListener();
+        FixtureReportRunListener runListener = new FixtureReportRunListener();
+        executionListener.testPlanExecutionStarted(null);
+        runListener.testRunStarted(Description.EMPTY);
+        loadFixtures();
+        runListener.testRunFinished(new Result());
+
+        assertThat(directory.resolve(TEXT)).doesNotExist();
+
+        executionListener.testPlanExecutionFinished(null);
+
+        assertThat(read(TEXT)).startsWith("Fixtures: 3 loads");
+    }
+
+    @Test
+    void laterRunsAddToReport() throws IOException {
+        System.setProperty(FixtureReport.DIRECTORY_PROPERTY, directory.toString());
+
+        FixtureReportRunListener listener = new FixtureReportRunListener();
+        listener.testRunStarted(Description.EMPTY);
+        loadFixtures();
+        listener.testRunFinished(new Result());
+        listener.testRunStarted(Description.EMPTY);
+        loadFixtures();
+        listener.testRunFinished(new Result());
+
+        assertThat(read(TEXT)).startsWith("Fixtures: 6 loads");
+    }
+
+    private void loadFixtures() throws IOException {
+        testResource().resourcePath("/FixtureReportTest").resourceName("slow").asProperties();
+        testResource().resourcePath("/FixtureReportTest").resourceName("slow").asProperties();
+        testResource().resourcePath("/FixtureReportTest").resourceName("fast.txt").asString("UTF-8");
+    }
+
+    private String read(String name) throws IOException {
+        return new String(Files.readAllBytes(directory.resolve(name)), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,89 @@
+package nickel.test.strategy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CurrentNamingStrategyTest {
+    @Test
+    void unbound() {
+        assertThat(CurrentNamingStrategy.boundStrategy())
+            .isNotPresent();
+        assertThat(CurrentNamingStrategy.currentStrategy())
+            .isInstanceOf(StackBasedNamingStrategy.class);
+    }
+
+    @Test
+    void bindAndRestore() {
+        TestIdentity outer = new TestIdentity(getClass(), Optional.of("outer"));
+        TestIdentity inner = new TestIdentity(getClass(), Optional.of("inner"));
+
+        try (CurrentNamingStrategy.Binding ignored = CurrentNamingStrategy.bind(outer)) {
+            try (CurrentNamingStrategy.Binding ignored2 = CurrentNamingStrategy.bind(inner)) {
+                assertThat(CurrentNamingStrategy.currentStrategy()).isSameAs(inner);
+            }
+            assertThat(CurrentNamingStrategy.currentStrategy()).isSameAs(outer);
+        }
+
+        assertThat(CurrentNamingStrategy.boundStrategy()).isNotPresent();
+    }
+
+    @Test
+    void captureFromStack() {
+        assertThat(CurrentNamingStrategy.capture().strategy().flatMap(ResourceNamingStrategy::testName))
+            .contains("captureFromStack");
+    }
+
+    @Test
+    void wrappedTask() throws InterruptedException {
+        AtomicReference<Optional<String>> testName = new AtomicReference<>();
+        Thread thread = new Thread(CurrentNamingStrategy.wrap(
+            () -> testName.set(CurrentNamingStrategy.currentStrategy().testName())));
+        thread.start();
+        thread.join();
+
+        assertThat(testName.get()).contains("wrappedTask");
+    }
+
+    @Test
+    void propagatingExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ExecutorService propagatingExecutor = CurrentNamingStrategy.propagating(executor);
+
+            assertThat(propagatingExecutor.submit(() -> CurrentNamingStrategy.currentStrategy().testName()).get())
+                .contains("propagatingExecutor");
+            assertThat(CompletableFuture.supplyAsync(
+                () -> CurrentNamingStrategy.currentStrategy().testName(),
+                CurrentNamingStrategy.propagating((Executor) executor)).get())
+                .contains("propagatingExecutor");
+
+            // The pool thread doesn't keep the test once the task is done
+            assertThat(executor.submit(CurrentNamingStrategy::boundStrategy).get())
+                .isNotPresent();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void notInherited() throws InterruptedException {
+        TestIdentity identity = new TestIdentity(getClass(), Optional.of("notInherited"));
+        AtomicReference<Optional<ResourceNamingStrategy>> started = new AtomicReference<>();
+
+        try (CurrentNamingStrategy.Binding ignored = CurrentNamingStrategy.bind(identity)) {
+            Thread thread = new Thread(() -> started.set(CurrentNamingStrategy.boundStrategy()));
+            thread.start();
+            thread.join();
+        }
+
+        assertThat(started.get()).isNotPresent();
+    }
+}
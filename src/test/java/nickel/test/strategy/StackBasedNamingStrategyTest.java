@@ -4,6 +4,10 @@ import nickel.test.junit4.JUnit4StackBasedNamingStrategy;
 import nickel.test.junit5.JUnit5StackBasedNamingStrategy;
 import org.junit.jupiter.api.Test;
 
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class StackBasedNamingStrategyTest {
@@ -16,4 +20,50 @@ class StackBasedNamingStrategyTest {
         assertThat(StackBasedNamingStrategy.stackBasedStrategy(StackBasedNamingStrategy.TestFramework.junit4))
             .isInstanceOf(JUnit4StackBasedNamingStrategy.class);
     }
+
+    @Test
+    void sharedInstances() {
+        assertThat(StackBasedNamingStrategy.stackBasedStrategy())
+            .isSameAs(StackBasedNamingStrategy.stackBasedStrategy());
+
+        assertThat(StackBasedNamingStrategy.stackBasedStrategy(StackBasedNamingStrategy.TestFramework.junit5))
+            .isSameAs(StackBasedNamingStrategy.stackBasedStrategy(StackBasedNamingStrategy.TestFramework.junit5));
+    }
+
+    @Test
+    void mixedClasspath() {
+        ResourceNamingStrategy strategy = StackBasedNamingStrategy.stackBasedStrategy();
+
+        assertThat(strategy).isInstanceOf(MixedFrameworkNamingStrategy.class);
+        assertThat(strategy.testName()).contains("mixedClasspath");
+        assertThat(strategy.suiteName(false)).isEqualTo(getClass().getSimpleName());
+    }
+
+    @Test
+    void detectedStrategyDoesNotPinClassLoader() throws Exception {
+        WeakReference<ClassLoader> classLoader = probeFrameworkClassLoader();
+
+        for (int i = 0; i < 50 && classLoader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertThat(classLoader.get()).isNull();
+    }
+
+    private static WeakReference<ClassLoader> probeFrameworkClassLoader() throws Exception {
+        URL[] frameworkJars = {
+            org.junit.Test.class.getProtectionDomain().getCodeSource().getLocation(),
+            Test.class.getProtectionDomain().getCodeSource().getLocation()
+        };
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        try (URLClassLoader frameworkClassLoader = new URLClassLoader(frameworkJars, null)) {
+            thread.setContextClassLoader(frameworkClassLoader);
+            assertThat(StackBasedNamingStrategy.stackBasedStrategy()).isInstanceOf(MixedFrameworkNamingStrategy.class);
+            return new WeakReference<>(frameworkClassLoader);
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
 }
@@ -1,8 +1,18 @@
 package nickel.test.strategy;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Optional;
+
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class StackSearchStrategyTest {
@@ -13,4 +23,84 @@ class StackSearchStrategyTest {
             () -> StackSearchStrategy.locateAnnotatedMethod(emptyList()),
             "Must provide annotationClasses to search for");
     }
+
+    @Test
+    void locateTestMethod() {
+        Optional<Method> first = StackSearchStrategy.locateAnnotatedMethod(singletonList(Test.class))
+            .map(Pair::getLeft);
+        Optional<Annotation> second = StackSearchStrategy.locateAnnotatedMethod(singletonList(Test.class))
+            .map(Pair::getRight);
+
+        assertThat(first).isPresent();
+        assertThat(first.get().getName()).isEqualTo("locateTestMethod");
+        assertThat(second).isPresent();
+        assertThat(second.get()).isInstanceOf(Test.class);
+    }
+
+    @Test
+    void noAnnotatedMethod() {
+        assertThat(StackSearchStrategy.locateAnnotatedMethod(singletonList(Deprecated.class)))
+            .isNotPresent();
+    }
+
+    @Test
+    void frameFromContextClassLoader() throws Exception {
+        ClassLoader childLoader = new ChildFirstClassLoader(ChildLoaded.class.getName(), getClass().getClassLoader());
+        Class<?> childClass = childLoader.loadClass(ChildLoaded.class.getName());
+
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(childLoader);
+        try {
+            Object searcher = childClass.getConstructor().newInstance();
+            @SuppressWarnings("unchecked")
+            Optional<Pair<Method, Annotation>> found =
+                (Optional<Pair<Method, Annotation>>) childClass.getMethod("search").invoke(searcher);
+
+            assertThat(found).isPresent();
+            assertThat(found.get().getLeft().getDeclaringClass().getClassLoader()).isSameAs(childLoader);
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    /**
+     * Searched for from a class loader below the library's, as build tools and IDEs load test classes
+     */
+    public static class ChildLoaded {
+        @Deprecated
+        public Optional<Pair<Method, Annotation>> search() {
+            return StackSearchStrategy.locateAnnotatedMethod(singletonList(Deprecated.class));
+        }
+    }
+
+    private static class ChildFirstClassLoader extends ClassLoader {
+        private final String childClassName;
+
+        ChildFirstClassLoader(String childClassName, ClassLoader parent) {
+            super(parent);
+            this.childClassName = childClassName;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(childClassName)) {
+                return super.loadClass(name, resolve);
+            }
+
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> childClass = findLoadedClass(name);
+                if (childClass == null) {
+                    byte[] bytes;
+                    try (InputStream stream = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                        bytes = IOUtils.toByteArray(stream);
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                    childClass = defineClass(name, bytes, 0, bytes.length);
+                }
+                return childClass;
+            }
+        }
+    }
 }
@@ -5,6 +5,8 @@ import org.junit.Test;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import static nickel.test.yaml.YamlTestResource.yamlTestResource;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -28,4 +30,27 @@ public class YamlTestResourceTest {
 
         assertThat(beanClass).isEqualTo(new BeanClass(405));
     }
+
+    @Test
+    public void yamlFactory() throws ClassNotFoundException, IOException {
+        List<Yaml> created = new ArrayList<>();
+        YamlFactory yamlFactory = () -> {
+            Yaml yaml = new Yaml();
+            created.add(yaml);
+            return yaml;
+        };
+
+        BeanClass first = yamlTestResource()
+            .forTestMethod()
+            .withYamlFactory(yamlFactory)
+            .asYaml(BeanClass.class);
+        BeanClass second = yamlTestResource()
+            .forTestMethod()
+            .withYamlFactory(yamlFactory)
+            .asYaml(BeanClass.class);
+
+        assertThat(first).isEqualTo(new BeanClass(512));
+        assertThat(second).isEqualTo(first);
+        assertThat(created).hasSize(1);
+    }
 }
@@ -0,0 +1,67 @@
+package nickel.test.metrics;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import static nickel.test.NickelTestResource.testResource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlightRecorderEventTest {
+    private static final String RESOURCE_PATH = "FlightRecorderEventTest/recorded.properties";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void notRecordingWithoutRecording() {
+        assertThat(FlightRecorderEvent.recordingLoads()).isFalse();
+        assertThat(FlightRecorderEvent.bindingParse(RESOURCE_PATH, "properties", Properties.class))
+            .isSameAs(FlightRecorderEvent.streamRead(RESOURCE_PATH));
+    }
+
+    @Test
+    void recordsLoadSteps() throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("nickel.test.ClasspathLookup");
+            recording.enable("nickel.test.BindingParse");
+            recording.start();
+
+            assertThat(FlightRecorderEvent.recordingLoads()).isTrue();
+            Properties properties = testResource().resourcePath("/FlightRecorderEventTest")
+                .resourceName("recorded")
+                .asProperties();
+            assertThat(properties).containsEntry("value", "flight");
+
+            recording.stop();
+            Path file = directory.resolve("recording.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> RESOURCE_PATH.equals(event.getString("path")))
+                .collect(Collectors.toList());
+        }
+        assertThat(FlightRecorderEvent.recordingLoads()).isFalse();
+
+        assertThat(events).extracting(event -> event.getEventType().getName())
+            .containsExactly("nickel.test.ClasspathLookup", "nickel.test.BindingParse");
+
+        RecordedEvent lookup = events.get(0);
+        assertThat(lookup.getBoolean("found")).isTrue();
+        assertThat(lookup.getClass("testClass").getName()).isEqualTo(FlightRecorderEventTest.class.getName());
+
+        RecordedEvent parse = events.get(1);
+        assertThat(parse.getString("binding")).isEqualTo("properties");
+        assertThat(parse.getString("targetType")).isEqualTo(Properties.class.getName());
+        assertThat(parse.getLong("bytes")).isEqualTo(13);
+        assertThat(parse.getDuration("readTime")).isLessThanOrEqualTo(parse.getDuration());
+    }
+}